@@ -0,0 +1,55 @@
+package benchmarks;
+
+import boardGame.Board;
+import boardGame.Piece;
+import boardGame.Position;
+import chess.BitboardBoard;
+import chess.ChessMatch;
+import chess.ChessPiece;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+@State(Scope.Thread)
+public class BoardBenchmark {
+
+    @Param({"opening", "middlegame", "endgame"})
+    public String position;
+
+    @Param({"Board", "BitboardBoard"})
+    public String backend;
+
+    private Board board;
+    private Position occupied;
+    private Position empty;
+
+    @Setup
+    public void setup() {
+        ChessMatch chessMatch = Positions.match(position);
+        ChessPiece[][] pieces = chessMatch.getPieces();
+        board = backend.equals("BitboardBoard") ? new BitboardBoard() : new Board(8, 8);
+        for (int i = 0; i < 8; i++) {
+            for (int j = 0; j < 8; j++) {
+                if (pieces[i][j] != null) {
+                    // peças novas no tabuleiro do benchmark, para não mexer no estado da partida
+                    board.placePiece(Positions.newPiece(board, pieces[i][j], chessMatch), new Position(i, j));
+                    occupied = new Position(i, j);
+                }
+                else {
+                    empty = new Position(i, j);
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public Piece removeAndPlace() {
+        Piece piece = board.removePiece(occupied);
+        board.placePiece(piece, empty);
+        board.removePiece(empty);
+        board.placePiece(piece, occupied);
+        return piece;
+    }
+}
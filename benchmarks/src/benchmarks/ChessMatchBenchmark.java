@@ -0,0 +1,77 @@
+package benchmarks;
+
+import chess.ChessMatch;
+import chess.ChessMove;
+import chess.ChessPiece;
+import chess.ChessPosition;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+@State(Scope.Thread)
+public class ChessMatchBenchmark {
+
+    @Param({"opening", "middlegame", "endgame"})
+    public String position;
+
+    private ChessMatch chessMatch;
+    private ChessPosition quietSource;
+    private ChessPosition quietTarget;
+    private ChessPosition checkSource;
+    private ChessPosition checkTarget;
+
+    @Setup
+    public void setup() {
+        chessMatch = Positions.match(position);
+        int[] moves = new int[256];
+        int count = chessMatch.legalMoves(moves);
+        for (int i = 0; i < count; i++) {
+            if (ChessMove.promotion(moves[i]) != null) {
+                continue;
+            }
+            chessMatch.makeMove(moves[i]);
+            boolean check = chessMatch.getCheck();
+            chessMatch.undoMove();
+            if (check && checkSource == null) {
+                checkSource = Positions.position(ChessMove.source(moves[i]));
+                checkTarget = Positions.position(ChessMove.target(moves[i]));
+            }
+            if (!check && quietSource == null) {
+                quietSource = Positions.position(ChessMove.source(moves[i]));
+                quietTarget = Positions.position(ChessMove.target(moves[i]));
+            }
+        }
+        if (checkSource == null) { //sem lance de xeque na posição, mede o lance comum
+            checkSource = quietSource;
+            checkTarget = quietTarget;
+        }
+    }
+
+    @Benchmark
+    public ChessPiece performChessMove() {
+        ChessPiece captured = chessMatch.performChessMove(quietSource, quietTarget);
+        chessMatch.undoMove();
+        return captured;
+    }
+
+    // testCheckMate é privado: um lance que dá xeque faz performChessMove percorrer todas as defesas
+    @Benchmark
+    public boolean performChessMoveWithCheckMateTest() {
+        chessMatch.performChessMove(checkSource, checkTarget);
+        boolean checkMate = chessMatch.getCheckMate();
+        chessMatch.undoMove();
+        return checkMate;
+    }
+
+    @Benchmark
+    public ChessPiece[][] getPieces() {
+        return chessMatch.getPieces();
+    }
+
+    @Benchmark
+    public int legalMoves() {
+        return chessMatch.legalMoves(new int[256]);
+    }
+}
@@ -0,0 +1,46 @@
+package benchmarks;
+
+import chess.ChessMatch;
+import chess.engine.Evaluator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+@State(Scope.Thread)
+public class EvaluationBenchmark {
+
+    @Param({"opening", "middlegame", "endgame"})
+    public String position;
+
+    private ChessMatch chessMatch;
+    private Evaluator evaluator;
+    private int[] moves = new int[256];
+    private int count;
+
+    @Setup
+    public void setup() {
+        chessMatch = Positions.match(position);
+        evaluator = new Evaluator();
+        count = chessMatch.legalMoves(moves);
+    }
+
+    // avaliações por milissegundo na posição fixa
+    @Benchmark
+    public int evaluate() {
+        return evaluator.evaluate(chessMatch);
+    }
+
+    // uma avaliação depois de cada lance legal, como nas folhas da busca: inclui a atualização incremental das tabelas
+    @Benchmark
+    public int evaluateAfterEachMove() {
+        int sum = 0;
+        for (int i = 0; i < count; i++) {
+            chessMatch.makeMove(moves[i]);
+            sum += evaluator.evaluate(chessMatch);
+            chessMatch.undoMove();
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,54 @@
+package benchmarks;
+
+import chess.ChessMatch;
+import chess.ChessPiece;
+import chess.PieceType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+@State(Scope.Thread)
+public class PieceMovesBenchmark {
+
+    @Param({"opening", "middlegame", "endgame"})
+    public String position;
+
+    @Param({"PAWN", "KNIGHT", "BISHOP", "ROOK", "QUEEN", "KING"})
+    public PieceType type;
+
+    private ChessPiece piece;
+    private int[] moves = new int[256];
+
+    @Setup
+    public void setup() {
+        ChessMatch chessMatch = Positions.match(position);
+        // a peça do tipo escolhido com mais movimentos na posição
+        int best = -1;
+        for (ChessPiece[] row : chessMatch.getPieces()) {
+            for (ChessPiece p : row) {
+                if (p != null && p.getType() == type) {
+                    int count = p.possibleMoves(moves, 0);
+                    if (count > best) {
+                        best = count;
+                        piece = p;
+                    }
+                }
+            }
+        }
+        if (piece == null) {
+            throw new IllegalStateException("Não existe " + type + " na posição " + position);
+        }
+    }
+
+    @Benchmark
+    public boolean[][] possibleMovesMatrix() {
+        return piece.possibleMoves();
+    }
+
+    @Benchmark
+    public int possibleMovesBuffer() {
+        return piece.possibleMoves(moves, 0);
+    }
+}
@@ -0,0 +1,67 @@
+package benchmarks;
+
+import boardGame.Board;
+import chess.ChessMatch;
+import chess.ChessMove;
+import chess.ChessPiece;
+import chess.ChessPosition;
+import chess.pieces.Bishop;
+import chess.pieces.King;
+import chess.pieces.Knight;
+import chess.pieces.Pawn;
+import chess.pieces.Queen;
+import chess.pieces.Rook;
+
+public final class Positions {
+
+    // posições usadas nos benchmarks, alcançadas a partir da posição inicial em notação de coordenadas
+    public static final String OPENING = "e2e4 e7e5 g1f3 b8c6";
+
+    // Ruy Lopez, variante Breyer
+    public static final String MIDDLEGAME = "e2e4 e7e5 g1f3 b8c6 f1b5 a7a6 b5a4 g8f6 e1g1 f8e7 f1e1 b7b5 a4b3 d7d6 "
+            + "c2c3 e8g8 h2h3 c6b8 d2d4 b8d7";
+
+    // final com poucas peças, mas ao menos uma de cada tipo
+    public static final String ENDGAME = "g2g3 d7d5 g1f3 e8d7 f1h3 d7e8 h3c8 d8c8 h1f1 a7a6 h2h3 c8h3 e2e4 h3g3 e4d5 "
+            + "g3f2 e1f2 g8h6 f2g3 e8d7 a2a4 h8g8 b2b4 a6a5 b4a5 a8a5 a1a2 a5a4 a2a4 d7d8 g3g2 d8d7 f3g5 h6g4 g5h7 "
+            + "d7c8 a4g4 e7e6 d5e6 f7e6 f1f8 g8f8 g4g7 b8a6 h7f8 c8b8 f8e6 b7b5 e6c7 a6c7";
+
+    private Positions() {
+    }
+
+    public static String moves(String name) {
+        switch (name) {
+            case "opening": return OPENING;
+            case "middlegame": return MIDDLEGAME;
+            case "endgame": return ENDGAME;
+            default: throw new IllegalArgumentException("Posição desconhecida: " + name);
+        }
+    }
+
+    public static ChessMatch match(String name) {
+        ChessMatch chessMatch = new ChessMatch();
+        for (String move : moves(name).split(" ")) {
+            chessMatch.performChessMove(position(move.substring(0, 2)), position(move.substring(2, 4)));
+        }
+        return chessMatch;
+    }
+
+    public static ChessPiece newPiece(Board board, ChessPiece piece, ChessMatch chessMatch) {
+        switch (piece.getType()) {
+            case PAWN: return new Pawn(board, piece.getColor(), chessMatch);
+            case KNIGHT: return new Knight(board, piece.getColor());
+            case BISHOP: return new Bishop(board, piece.getColor());
+            case ROOK: return new Rook(board, piece.getColor());
+            case QUEEN: return new Queen(board, piece.getColor());
+            default: return new King(board, piece.getColor(), chessMatch);
+        }
+    }
+
+    public static ChessPosition position(String s) {
+        return new ChessPosition(s.charAt(0), Integer.parseInt(s.substring(1)));
+    }
+
+    public static ChessPosition position(int square) {
+        return position(ChessMove.squareName(square));
+    }
+}
@@ -0,0 +1,103 @@
+package benchmarks;
+
+import chess.ChessMatch;
+import chess.ChessMove;
+import chess.PieceType;
+import chess.archive.GameFormat;
+import chess.archive.GameReader;
+import chess.archive.GameWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+@State(Scope.Thread)
+public class ReplayBenchmark {
+
+    // o mesmo lote de partidas aleatórias (semente fixa) reproduzido a partir do texto e dos dois formatos binários;
+    // cada operação reproduz o lote inteiro
+    private static final int GAMES = 100;
+
+    private String[] text = new String[GAMES];
+    private byte[] move16;
+    private byte[] legalIndex;
+
+    @Setup
+    public void setup() throws IOException {
+        SplittableRandom random = new SplittableRandom(42);
+        int[][] games = new int[GAMES][];
+        int[] legal = new int[256];
+        for (int g = 0; g < GAMES; g++) {
+            ChessMatch chessMatch = new ChessMatch();
+            int[] moves = new int[40 + random.nextInt(80)];
+            int count = 0;
+            StringBuilder sb = new StringBuilder();
+            while (count < moves.length) {
+                int legalCount = chessMatch.legalMoves(legal);
+                if (legalCount == 0) {
+                    break;
+                }
+                int move = legal[random.nextInt(legalCount)];
+                PieceType promotion = ChessMove.promotion(move);
+                if (promotion != null && promotion != PieceType.QUEEN) {
+                    continue; //performChessMove sempre promove para rainha
+                }
+                moves[count++] = move;
+                chessMatch.makeMove(move);
+                sb.append(ChessMove.toString(move)).append(' ');
+            }
+            games[g] = Arrays.copyOf(moves, count);
+            text[g] = sb.toString().trim();
+        }
+        move16 = write(games, GameFormat.MOVE16);
+        legalIndex = write(games, GameFormat.LEGAL_INDEX);
+    }
+
+    private static byte[] write(int[][] games, GameFormat format) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GameWriter writer = new GameWriter(out, format)) {
+            for (int[] game : games) {
+                writer.writeGame(game, game.length, "*");
+            }
+        }
+        return out.toByteArray();
+    }
+
+    @Benchmark
+    public long textReplay() {
+        long keys = 0;
+        for (String game : text) {
+            ChessMatch chessMatch = new ChessMatch();
+            for (String move : game.split(" ")) {
+                chessMatch.performChessMove(Positions.position(move.substring(0, 2)), Positions.position(move.substring(2, 4)));
+            }
+            keys ^= chessMatch.getZobristKey();
+        }
+        return keys;
+    }
+
+    @Benchmark
+    public long move16Replay() throws IOException {
+        return replay(move16);
+    }
+
+    @Benchmark
+    public long legalIndexReplay() throws IOException {
+        return replay(legalIndex);
+    }
+
+    private static long replay(byte[] data) throws IOException {
+        long keys = 0;
+        GameReader reader = new GameReader(new ByteArrayInputStream(data));
+        while (reader.next()) {
+            keys ^= reader.replay().getZobristKey();
+        }
+        return keys;
+    }
+}
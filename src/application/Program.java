@@ -15,7 +15,7 @@ public class Program {
     public static void main(String[] args) {
 
         Scanner sc = new Scanner(System.in);
-        ChessMatch chessMatch = new ChessMatch();
+        ChessMatch chessMatch = (args.length > 0) ? new ChessMatch(String.join(" ", args)) : new ChessMatch(); //a posição inicial pode vir em FEN
         List<ChessPiece> captured = new ArrayList<>();
 
         while (!chessMatch.getCheckMate()) {
@@ -28,7 +28,7 @@ public class Program {
 
                 boolean[][] possibleMoves = chessMatch.possibleMoves(source);
                 UI.clearScreen();
-                UI.printBoard(chessMatch.getPieces(), possibleMoves); //sobrecarga, quando vc tem mais de uma versão do mesmo método variando os parâmetros
+                UI.printBoard(chessMatch.getSnapshot(), possibleMoves); //sobrecarga, quando vc tem mais de uma versão do mesmo método variando os parâmetros
 
                 System.out.println();
                 System.out.print("Destino: ");
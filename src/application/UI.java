@@ -4,6 +4,7 @@ import chess.ChessMatch;
 import chess.ChessPiece;
 import chess.ChessPosition;
 import chess.Color;
+import chess.PositionSnapshot;
 
 import java.util.Arrays;
 import java.util.InputMismatchException;
@@ -49,7 +50,7 @@ public class UI {
     }
 
     public static void printMatch(ChessMatch chessMatch, List<ChessPiece> captured){
-        printBoard(chessMatch.getPieces());
+        printBoard(chessMatch.getSnapshot(), null);
         System.out.println();
         printCapturedPieces(captured);
         System.out.println();
@@ -66,46 +67,28 @@ public class UI {
         }
     }
 
-    public static void printBoard(ChessPiece[][] pieces){
-        for (int i = 0; i < pieces.length; i++){
+    public static void printBoard(PositionSnapshot snapshot, boolean[][] possibleMoves){ //possibleMoves pode ser null
+        for (int i = 0; i < 8; i++){
             System.out.print((8 - i) + " ");
-            for( int j=0; j< pieces.length; j++){
-                printPiece(pieces[i][j], false); // vai imprimir o tabuleiro sem o fundo pintado
+            for (int j = 0; j < 8; j++){
+                if (possibleMoves != null && possibleMoves[i][j]) {
+                    System.out.print(ANSI_GREEN_BACKGROUND);
+                }
+                int square = i * 8 + j;
+                if (snapshot.isEmpty(square)) {
+                    System.out.print("-" + ANSI_RESET);
+                }
+                else {
+                    String color = (snapshot.getColor(square) == Color.BRANCO) ? ANSI_WHITE : ANSI_YELLOW;
+                    System.out.print(color + Character.toUpperCase(snapshot.getSymbol(square)) + ANSI_RESET);
+                }
+                System.out.print(" ");
             }
             System.out.println();
         }
         System.out.println("  a b c d e f g h");
     }
 
-    public static void printBoard(ChessPiece[][] pieces, boolean[][] possibleMoves){
-        for (int i = 0; i < pieces.length; i++){
-            System.out.print((8 - i) + " ");
-            for( int j=0; j< pieces.length; j++){
-                printPiece(pieces[i][j], possibleMoves[i][j]); //vai imprimir o tabuleiro colorindo os movimentos possíveis baseado na matriz
-            }
-            System.out.println();
-        }
-        System.out.println("  a b c d e f g h");
-    }
-
-    private static void printPiece(ChessPiece piece, boolean background){
-        if (background) {
-            System.out.print(ANSI_GREEN_BACKGROUND);
-        }
-        if (piece == null) {
-            System.out.print("-" + ANSI_RESET);
-        }
-        else {
-            if (piece.getColor() == Color.BRANCO) {
-                System.out.print(ANSI_WHITE + piece + ANSI_RESET);
-            }
-            else {
-                System.out.print(ANSI_YELLOW + piece + ANSI_RESET);
-            }
-        }
-        System.out.print(" ");
-    }
-
     private static void printCapturedPieces(List<ChessPiece> captured){
         List<ChessPiece> white = captured.stream().filter(x -> x.getColor() == Color.BRANCO).collect(Collectors.toList()); //filtragem de lista
         List<ChessPiece> black = captured.stream().filter(x -> x.getColor() == Color.PRETO).collect(Collectors.toList());
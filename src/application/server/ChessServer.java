@@ -0,0 +1,182 @@
+package application.server;
+
+import chess.ChessMatch;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+public class ChessServer implements Closeable {
+
+    // hospeda várias partidas numa JVM atrás de um socket TCP, com uma thread por conexão
+    private ServerSocket serverSocket;
+    private ExecutorService connections;
+    private ExecutorService writers; //escrita nos sockets, fora do pool dos atores: um cliente lento não segura as partidas
+    private ForkJoinPool actors = new ForkJoinPool(Runtime.getRuntime().availableProcessors(),
+            ForkJoinPool.defaultForkJoinWorkerThreadFactory, null, true); //modo FIFO, os lotes dos atores rodam por ordem de chegada
+    private Map<Long, GameSession> games = new ConcurrentHashMap<>();
+    private Set<ClientConnection> clients = ConcurrentHashMap.newKeySet();
+    private AtomicLong nextId = new AtomicLong(1);
+    private LongAdder moves = new LongAdder();
+    private ScheduledExecutorService hibernation;
+
+    public ChessServer(int port) throws IOException {
+        serverSocket = new ServerSocket(port, 4096);
+        connections = newConnectionExecutor();
+        writers = newConnectionExecutor();
+    }
+
+    // threads virtuais quando a JVM tem (Java 21+); senão, threads comuns criadas sob demanda
+    private static ExecutorService newConnectionExecutor() {
+        try {
+            return (ExecutorService)Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        }
+        catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool();
+        }
+    }
+
+    public void start() {
+        new Thread(this::acceptLoop, "chess-server-accept").start();
+    }
+
+    // hiberna de tempos em tempos as partidas paradas há mais de 'idleMillis'
+    public void startHibernation(long idleMillis) {
+        hibernation = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "chess-server-hibernation");
+            thread.setDaemon(true);
+            return thread;
+        });
+        hibernation.scheduleWithFixedDelay(() -> hibernateIdle(idleMillis), idleMillis, idleMillis, TimeUnit.MILLISECONDS);
+    }
+
+    // retorna quantas partidas foram hibernadas agora
+    public int hibernateIdle(long idleMillis) {
+        List<CompletableFuture<Boolean>> results = games.values().stream()
+                .map(g -> g.getActor().hibernate(TimeUnit.MILLISECONDS.toNanos(idleMillis)))
+                .collect(Collectors.toList());
+        int count = 0;
+        for (CompletableFuture<Boolean> result : results) {
+            try {
+                if (result.join()) {
+                    count++;
+                }
+            }
+            catch (CompletionException e) {
+                //caixa cheia: a partida não está parada
+            }
+        }
+        return count;
+    }
+
+    public int getHibernatedCount() {
+        return (int)games.values().stream().filter(g -> g.getActor().isHibernated()).count();
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    public int getGameCount() {
+        return games.size();
+    }
+
+    public int getClientCount() {
+        return clients.size();
+    }
+
+    public long getMoves() { //lances aceitos desde o início
+        return moves.sum();
+    }
+
+    GameSession newGame(String fen) {
+        long id = nextId.getAndIncrement();
+        GameSession game = new GameSession(id, (fen == null) ? new ChessMatch() : new ChessMatch(fen), actors);
+        games.put(id, game);
+        return game;
+    }
+
+    GameSession game(String[] command) { //o id da partida é o segundo campo do comando
+        if (command.length < 2) {
+            throw new IllegalArgumentException("Informe o id da partida");
+        }
+        GameSession game = games.get(Long.parseLong(command[1]));
+        if (game == null) {
+            throw new IllegalArgumentException("Partida não encontrada: " + command[1]);
+        }
+        return game;
+    }
+
+    // as partidas com maior espera média na caixa de mensagens
+    public List<GameSession> hotGames(int count) {
+        return games.values().stream()
+                .sorted(Comparator.comparingLong((GameSession g) -> g.getActor().getAverageWaitNanos()).reversed())
+                .limit(count)
+                .collect(Collectors.toList());
+    }
+
+    void moveApplied() {
+        moves.increment();
+    }
+
+    void disconnected(ClientConnection client) {
+        clients.remove(client);
+    }
+
+    private void acceptLoop() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                socket.setTcpNoDelay(true);
+                ClientConnection client = new ClientConnection(this, socket, writers);
+                clients.add(client);
+                connections.execute(client);
+            }
+            catch (SocketException e) {
+                return; //servidor fechado
+            }
+            catch (IOException e) {
+                System.out.println("Erro aceitando conexão: " + e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        for (ClientConnection client : clients) {
+            client.close();
+        }
+        connections.shutdownNow();
+        writers.shutdownNow();
+        actors.shutdownNow();
+        if (hibernation != null) {
+            hibernation.shutdownNow();
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        int port = (args.length > 0) ? Integer.parseInt(args[0]) : 7777;
+        ChessServer server = new ChessServer(port);
+        server.start();
+        server.startHibernation(60_000);
+        System.out.println("Servidor de xadrez na porta " + server.getPort());
+    }
+}
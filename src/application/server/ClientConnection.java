@@ -0,0 +1,207 @@
+package application.server;
+
+import boardGame.BoardException;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ClientConnection implements Runnable {
+
+    // uma conexão, atendida pela sua própria thread; o protocolo é de linhas de texto:
+    //   NEW [fen]         cria uma partida e inscreve a conexão nos eventos dela  -> GAME <id>
+    //   JOIN <id>         inscreve a conexão nos eventos da partida               -> OK <fen>
+    //   LEAVE <id>        cancela a inscrição                                     -> OK
+    //   MOVE <id> <lance> aplica um lance, ex: e2e4 ou e7e8n                      -> OK
+    //   MOVES <id>        lances legais da vez                                    -> MOVES <lances>
+    //   FEN <id>          posição atual                                           -> FEN <fen>
+    //   STATS <id>        métricas da caixa de mensagens da partida               -> STATS <métricas>
+    //   HOT [n]           partidas com maior espera média na caixa                -> HOT <id>:<espera>us ...
+    //   QUIT              encerra a conexão
+    // cada lance aceito gera, para todos os inscritos, EVENT <id> MOVE <lance> <fen> [CHECK|MATE]; erros voltam como ERROR <mensagem>
+    // as linhas de saída (respostas e eventos) entram numa fila da conexão, esvaziada por uma tarefa do executor de escrita:
+    // quem faz broadcast, como a thread do ator, nunca espera o socket, e um cliente lento só atrasa a sua própria fila
+    private static final int MAX_PENDING = 4096; //linhas na fila; acima disso o cliente não está lendo e a conexão cai
+    private static final String CLOSE = new String("CLOSE"); //marca na fila, comparada por referência: fecha depois das linhas anteriores
+
+    private ChessServer server;
+    private Socket socket;
+    private BufferedReader in;
+    private BufferedWriter out;
+    private Executor writer;
+    private Queue<String> outbound = new ConcurrentLinkedQueue<>();
+    private AtomicInteger pending = new AtomicInteger();
+    private AtomicBoolean writing = new AtomicBoolean();
+    private List<GameSession> subscriptions = new CopyOnWriteArrayList<>(); //também lida por quem faz broadcast, se a conexão cair
+
+    public ClientConnection(ChessServer server, Socket socket, Executor writer) throws IOException {
+        this.server = server;
+        this.socket = socket;
+        this.writer = writer;
+        // linhas curtas: buffers pequenos reduzem a memória de cada conexão parada
+        in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8), 512);
+        out = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8), 512);
+    }
+
+    @Override
+    public void run() {
+        try {
+            String line;
+            while ((line = in.readLine()) != null) {
+                String response = handle(line.trim());
+                if (response == null) {
+                    break;
+                }
+                send(response);
+            }
+        }
+        catch (IOException e) {
+            //conexão encerrada pelo cliente
+        }
+        finally {
+            enqueue(CLOSE); //as respostas já enfileiradas ainda são escritas
+        }
+    }
+
+    // enfileira uma linha para o cliente, sem bloquear; chamado pela thread da conexão e pelas sessões que fazem broadcast
+    public void send(String line) {
+        if (pending.incrementAndGet() > MAX_PENDING) {
+            close();
+            return;
+        }
+        enqueue(line);
+    }
+
+    private void enqueue(String line) {
+        outbound.offer(line);
+        if (writing.compareAndSet(false, true)) {
+            try {
+                writer.execute(this::drain);
+            }
+            catch (RejectedExecutionException e) {
+                //servidor fechando
+            }
+        }
+    }
+
+    // escreve as linhas enfileiradas e só dá flush quando a fila esvazia; uma tarefa de cada vez por conexão
+    private void drain() {
+        try {
+            String line;
+            while ((line = outbound.poll()) != null) {
+                if (line == CLOSE) {
+                    out.flush();
+                    close();
+                    outbound.clear();
+                    break;
+                }
+                pending.decrementAndGet();
+                out.write(line);
+                out.newLine();
+                if (outbound.isEmpty()) {
+                    out.flush();
+                }
+            }
+        }
+        catch (IOException e) {
+            close();
+            outbound.clear();
+        }
+        writing.set(false);
+        if (!outbound.isEmpty() && writing.compareAndSet(false, true)) { //chegou linha depois do último poll
+            writer.execute(this::drain);
+        }
+    }
+
+    public void close() {
+        for (GameSession game : subscriptions) {
+            game.unsubscribe(this);
+        }
+        server.disconnected(this);
+        try {
+            socket.close();
+        }
+        catch (IOException e) {
+            //já fechada
+        }
+    }
+
+    private String handle(String line) {
+        String[] parts = line.split("\\s+", 3);
+        try {
+            switch (parts[0].toUpperCase()) {
+                case "NEW": {
+                    GameSession game = server.newGame((parts.length > 1) ? line.substring(line.indexOf(' ') + 1) : null);
+                    subscribe(game);
+                    return "GAME " + game.getId();
+                }
+                case "JOIN": {
+                    GameSession game = server.game(parts);
+                    subscribe(game);
+                    return "OK " + game.getSnapshot().toFen();
+                }
+                case "LEAVE": {
+                    GameSession game = server.game(parts);
+                    game.unsubscribe(this);
+                    subscriptions.remove(game);
+                    return "OK";
+                }
+                case "MOVE": {
+                    if (parts.length < 3) {
+                        return "ERROR Uso: MOVE <id> <lance>";
+                    }
+                    server.game(parts).move(parts[2]).join();
+                    server.moveApplied();
+                    return "OK";
+                }
+                case "MOVES":
+                    return "MOVES " + server.game(parts).legalMoves().join();
+                case "FEN":
+                    return "FEN " + server.game(parts).getSnapshot().toFen();
+                case "STATS":
+                    return "STATS " + server.game(parts).getActor();
+                case "HOT": {
+                    StringBuilder sb = new StringBuilder("HOT");
+                    for (GameSession game : server.hotGames((parts.length > 1) ? Integer.parseInt(parts[1]) : 5)) {
+                        sb.append(" ").append(game.getId()).append(":").append(game.getActor().getAverageWaitNanos() / 1000).append("us");
+                    }
+                    return sb.toString();
+                }
+                case "QUIT":
+                    return null;
+                default:
+                    return "ERROR Comando desconhecido: " + parts[0];
+            }
+        }
+        catch (BoardException | IllegalStateException | IllegalArgumentException e) {
+            return "ERROR " + message(e);
+        }
+        catch (CompletionException e) { //erro dentro do ator, ex: lance ilegal ou caixa cheia
+            return "ERROR " + message(e.getCause());
+        }
+    }
+
+    private static String message(Throwable e) { //exceções sem mensagem aparecem pelo nome da classe
+        return (e.getMessage() != null) ? e.getMessage() : e.getClass().getSimpleName();
+    }
+
+    private void subscribe(GameSession game) {
+        if (!subscriptions.contains(game)) {
+            game.subscribe(this);
+            subscriptions.add(game);
+        }
+    }
+}
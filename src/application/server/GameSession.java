@@ -0,0 +1,87 @@
+package application.server;
+
+import chess.ChessException;
+import chess.ChessMatch;
+import chess.ChessMove;
+import chess.PieceType;
+import chess.PositionSnapshot;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+
+public class GameSession {
+
+    // uma partida hospedada no servidor: os comandos que mexem na partida passam pelo ator, um de cada vez e sem trava,
+    // e a posição é lida pelo snapshot publicado
+    private static final int MAILBOX_CAPACITY = 64;
+    private static final int BATCH_SIZE = 16;
+
+    // a partida fica só no ator, para poder ser liberada quando ele hiberna
+    private long id;
+    private MatchActor actor;
+    private List<ClientConnection> subscribers = new CopyOnWriteArrayList<>();
+
+    public GameSession(long id, ChessMatch chessMatch, Executor executor) {
+        this.id = id;
+        actor = new MatchActor(chessMatch, executor, MAILBOX_CAPACITY, BATCH_SIZE);
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public MatchActor getActor() {
+        return actor;
+    }
+
+    public PositionSnapshot getSnapshot() {
+        return actor.getSnapshot();
+    }
+
+    // aplica o lance em notação de coordenadas (ex: e2e4, e7e8n); os inscritos são avisados pela thread do ator,
+    // então recebem os eventos na ordem dos lances
+    public CompletableFuture<Void> move(String move) {
+        return actor.submit(chessMatch -> {
+            if (chessMatch.getCheckMate()) {
+                throw new ChessException("A partida já terminou");
+            }
+            int encoded = ChessMove.parse(move);
+            PieceType promotion = ChessMove.promotion(encoded);
+            //a peça escolhida entra no próprio lance, para o xeque, o mate e a vez do evento valerem para ela
+            chessMatch.performChessMove(ChessMove.source(encoded), ChessMove.target(encoded),
+                    (promotion == null) ? PieceType.QUEEN : promotion);
+            PositionSnapshot snapshot = chessMatch.getSnapshot();
+            String event = "EVENT " + id + " MOVE " + move + " " + snapshot.toFen()
+                    + (snapshot.getCheckMate() ? " MATE" : snapshot.getCheck() ? " CHECK" : "");
+            for (ClientConnection subscriber : subscribers) {
+                subscriber.send(event);
+            }
+            return null;
+        });
+    }
+
+    public CompletableFuture<String> legalMoves() { //lances legais da vez, separados por espaço
+        return actor.submit(chessMatch -> {
+            int[] legalMoves = new int[256]; //alocado por comando, para não ocupar memória nas partidas paradas
+            int count = chessMatch.getCheckMate() ? 0 : chessMatch.legalMoves(legalMoves);
+            StringBuilder sb = new StringBuilder();
+            for (int i = 0; i < count; i++) {
+                if (i > 0) {
+                    sb.append(' ');
+                }
+                sb.append(ChessMove.toString(legalMoves[i]));
+            }
+            return sb.toString();
+        });
+    }
+
+    public void subscribe(ClientConnection connection) {
+        subscribers.add(connection);
+    }
+
+    public void unsubscribe(ClientConnection connection) {
+        subscribers.remove(connection);
+    }
+}
@@ -0,0 +1,228 @@
+package application.server;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+public class LoadTest {
+
+    // sobe um servidor na mesma JVM e mede: memória por partida parada, memória por conexão parada
+    // e lances/s com N clientes jogando partidas aleatórias ao mesmo tempo
+    private static final String[] OPENING = {"e2e4", "e7e5", "g1f3", "b8c6", "f1b5", "a7a6"};
+
+    public static void main(String[] args) throws Exception {
+        int clients = (args.length > 0) ? Integer.parseInt(args[0]) : 500;
+        int seconds = (args.length > 1) ? Integer.parseInt(args[1]) : 10;
+        int idleGames = (args.length > 2) ? Integer.parseInt(args[2]) : 10_000;
+        int idleConnections = (args.length > 3) ? Integer.parseInt(args[3]) : 1_000;
+
+        try (ChessServer server = new ChessServer(0)) {
+            server.start();
+            int port = server.getPort();
+
+            // partidas paradas, todas criadas por uma única conexão
+            long before = usedHeap();
+            try (Client client = new Client(port)) {
+                for (int i = 0; i < idleGames; i++) {
+                    client.request("NEW");
+                }
+                for (int i = 0; i < idleGames; i++) { //alguns lances em cada partida, para a lista de lances contar
+                    for (String move : OPENING) {
+                        client.request("MOVE " + (i + 1) + " " + move);
+                    }
+                }
+                long after = usedHeap();
+                System.out.printf("%d partidas paradas: %d bytes de heap por partida%n", idleGames, (after - before) / idleGames);
+                int hibernated = server.hibernateIdle(0);
+                long hibernatedHeap = usedHeap();
+                System.out.printf("%d partidas hibernadas: %d bytes de heap por partida%n", hibernated, (hibernatedHeap - before) / idleGames);
+                long start = System.nanoTime();
+                for (int i = 0; i < idleGames; i++) {
+                    client.request("MOVES " + (i + 1)); //reidrata
+                }
+                System.out.printf("reidratação + MOVES: %d us por partida%n", (System.nanoTime() - start) / 1000 / idleGames);
+            }
+
+            // conexões paradas: heap e memória residente do processo (inclui as pilhas das threads)
+            before = usedHeap();
+            long rssBefore = residentMemory();
+            List<Client> idle = new ArrayList<>();
+            for (int i = 0; i < idleConnections; i++) {
+                idle.add(new Client(port));
+            }
+            for (Client client : idle) {
+                client.request("FEN 1"); //garante que a conexão já tem a sua thread no servidor
+            }
+            long after = usedHeap();
+            long rssAfter = residentMemory();
+            System.out.printf("%d conexões paradas: %d bytes de heap e %d bytes de memória residente por conexão (%d threads)%n",
+                    idleConnections, (after - before) / idleConnections, (rssAfter - rssBefore) / idleConnections, Thread.activeCount());
+            for (Client client : idle) {
+                client.close();
+            }
+
+            // partidas ativas
+            AtomicBoolean running = new AtomicBoolean(true);
+            LongAdder moves = new LongAdder();
+            LongAdder games = new LongAdder();
+            long[][] latencies = new long[clients][];
+            CountDownLatch ready = new CountDownLatch(clients);
+            CountDownLatch done = new CountDownLatch(clients);
+            for (int i = 0; i < clients; i++) {
+                int index = i;
+                Thread thread = new Thread(() -> {
+                    try (Client client = new Client(port)) {
+                        ready.countDown();
+                        ready.await();
+                        latencies[index] = client.play(running, moves, games, index);
+                    }
+                    catch (Exception e) {
+                        System.out.println("Cliente " + index + ": " + e);
+                        latencies[index] = new long[0];
+                    }
+                    finally {
+                        done.countDown();
+                    }
+                });
+                thread.start();
+            }
+            ready.await();
+            long start = System.nanoTime();
+            Thread.sleep(seconds * 1000L);
+            running.set(false);
+            long elapsed = System.nanoTime() - start;
+            done.await();
+
+            long[] all = Arrays.stream(latencies).flatMapToLong(Arrays::stream).sorted().toArray();
+            System.out.printf("%d partidas simultâneas: %d lances em %d s = %d lances/s, %d partidas completas; latência média %d us, p99 %d us%n",
+                    clients, moves.sum(), seconds, moves.sum() * 1_000_000_000L / elapsed, games.sum(),
+                    (all.length == 0) ? 0 : Arrays.stream(all).sum() / all.length / 1000,
+                    (all.length == 0) ? 0 : all[(int)(all.length * 0.99)] / 1000);
+
+            // muitas conexões disputando a mesma partida: a fila do ator cresce e aparece nas métricas
+            int burst = Math.min(clients, 64);
+            CountDownLatch burstDone = new CountDownLatch(burst);
+            for (int i = 0; i < burst; i++) {
+                new Thread(() -> {
+                    try (Client client = new Client(port)) {
+                        for (int j = 0; j < 200; j++) {
+                            client.request("MOVES 1");
+                        }
+                    }
+                    catch (IOException e) {
+                        System.out.println(e);
+                    }
+                    finally {
+                        burstDone.countDown();
+                    }
+                }).start();
+            }
+            burstDone.await();
+            try (Client client = new Client(port)) {
+                System.out.println(burst + " conexões na partida 1: " + client.request("STATS 1"));
+                System.out.println("Partidas mais disputadas: " + client.request("HOT 3"));
+            }
+        }
+        System.exit(0);
+    }
+
+    private static long usedHeap() throws InterruptedException {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(100);
+        }
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static long residentMemory() { //VmRSS do Linux; 0 em outros sistemas
+        try {
+            for (String line : Files.readAllLines(Paths.get("/proc/self/status"))) {
+                if (line.startsWith("VmRSS:")) {
+                    return Long.parseLong(line.replaceAll("\\D", "")) * 1024;
+                }
+            }
+        }
+        catch (IOException | RuntimeException e) {
+            //sem /proc
+        }
+        return 0;
+    }
+
+    private static class Client implements AutoCloseable {
+        private Socket socket;
+        private BufferedReader in;
+        private BufferedWriter out;
+
+        private Client(int port) throws IOException {
+            socket = new Socket("localhost", port);
+            socket.setTcpNoDelay(true);
+            in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            out = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8));
+        }
+
+        // envia um comando e devolve a resposta, pulando os eventos das partidas inscritas
+        private String request(String command) throws IOException {
+            out.write(command);
+            out.newLine();
+            out.flush();
+            String line = in.readLine();
+            while (line != null && line.startsWith("EVENT")) {
+                line = in.readLine();
+            }
+            if (line == null) {
+                throw new IOException("Conexão encerrada pelo servidor");
+            }
+            return line;
+        }
+
+        // joga lances aleatórios, começando uma nova partida a cada xequemate ou a cada 200 lances; devolve as latências de MOVE
+        private long[] play(AtomicBoolean running, LongAdder moves, LongAdder games, long seed) throws IOException {
+            SplittableRandom random = new SplittableRandom(seed);
+            long[] latencies = new long[1024];
+            int count = 0;
+            String game = request("NEW").substring(5);
+            int ply = 0;
+            while (running.get()) {
+                String[] legal = request("MOVES " + game).substring(5).trim().split(" ");
+                if (legal[0].isEmpty() || ply == 200) {
+                    request("LEAVE " + game);
+                    game = request("NEW").substring(5);
+                    games.increment();
+                    ply = 0;
+                    continue;
+                }
+                long start = System.nanoTime();
+                String response = request("MOVE " + game + " " + legal[random.nextInt(legal.length)]);
+                if (count == latencies.length) {
+                    latencies = Arrays.copyOf(latencies, count * 2);
+                }
+                latencies[count++] = System.nanoTime() - start;
+                if (!response.equals("OK")) {
+                    throw new IOException("Lance recusado: " + response);
+                }
+                moves.increment();
+                ply++;
+            }
+            return Arrays.copyOf(latencies, count);
+        }
+
+        @Override
+        public void close() throws IOException {
+            socket.close();
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package application.server;
+
+import chess.ChessMatch;
+import chess.HibernatedMatch;
+import chess.PositionSnapshot;
+
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+public class MatchActor {
+
+    // dona de uma ChessMatch: os comandos entram numa caixa de mensagens limitada e sem trava, e são executados
+    // em lotes por uma thread do executor, um de cada vez; só a thread do lote mexe na partida
+    // parada, a partida pode ser hibernada (só a posição empacotada e os lances) e volta no próximo comando
+    private volatile ChessMatch chessMatch;
+    private volatile HibernatedMatch hibernated;
+    private volatile long lastActivity = System.nanoTime();
+    private Executor executor;
+    private int capacity;
+    private int batchSize;
+
+    private Queue<Command<?>> mailbox = new ConcurrentLinkedQueue<>();
+    private AtomicInteger depth = new AtomicInteger(); //limita a caixa, já que a fila em si não tem limite
+    private AtomicBoolean scheduled = new AtomicBoolean();
+
+    // métricas de contrapressão
+    private AtomicInteger maxDepth = new AtomicInteger();
+    private AtomicLong maxWaitNanos = new AtomicLong();
+    private LongAdder waitNanos = new LongAdder();
+    private LongAdder processed = new LongAdder();
+    private LongAdder rejected = new LongAdder();
+    private LongAdder batches = new LongAdder();
+
+    public MatchActor(ChessMatch chessMatch, Executor executor, int capacity, int batchSize) {
+        this.chessMatch = chessMatch;
+        this.executor = executor;
+        this.capacity = capacity;
+        this.batchSize = batchSize;
+    }
+
+    // enfileira um comando sobre a partida; com a caixa cheia o futuro já volta com RejectedExecutionException
+    public <T> CompletableFuture<T> submit(Function<ChessMatch, T> action) {
+        lastActivity = System.nanoTime();
+        return enqueue(action, true);
+    }
+
+    // hiberna a partida se ela não recebe comandos há 'idleNanos'; roda pela caixa, para não concorrer com um lote
+    public CompletableFuture<Boolean> hibernate(long idleNanos) {
+        return enqueue(chessMatch -> {
+            if (chessMatch == null || System.nanoTime() - lastActivity < idleNanos) {
+                return false;
+            }
+            hibernated = chessMatch.hibernate();
+            this.chessMatch = null;
+            return true;
+        }, false);
+    }
+
+    public boolean isHibernated() {
+        return chessMatch == null;
+    }
+
+    // posição atual, lida sem passar pela caixa; a partida é publicada antes de a outra forma ser apagada
+    public PositionSnapshot getSnapshot() {
+        while (true) {
+            ChessMatch match = chessMatch;
+            if (match != null) {
+                return match.getSnapshot();
+            }
+            HibernatedMatch packed = hibernated;
+            if (packed != null) {
+                return packed.getSnapshot();
+            }
+        }
+    }
+
+    private <T> CompletableFuture<T> enqueue(Function<ChessMatch, T> action, boolean wakes) {
+        int current;
+        do {
+            current = depth.get();
+            if (current >= capacity) {
+                rejected.increment();
+                return CompletableFuture.failedFuture(new RejectedExecutionException("Caixa de mensagens da partida cheia"));
+            }
+        } while (!depth.compareAndSet(current, current + 1));
+        maxDepth.accumulateAndGet(current + 1, Math::max);
+
+        Command<T> command = new Command<>(action, wakes);
+        mailbox.offer(command);
+        schedule();
+        return command.result;
+    }
+
+    public int getQueueDepth() {
+        return depth.get();
+    }
+
+    public int getMaxQueueDepth() {
+        return maxDepth.get();
+    }
+
+    public long getProcessed() {
+        return processed.sum();
+    }
+
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    public long getAverageWaitNanos() { //tempo médio entre entrar na caixa e começar a executar
+        long count = processed.sum();
+        return (count == 0) ? 0 : waitNanos.sum() / count;
+    }
+
+    public long getMaxWaitNanos() {
+        return maxWaitNanos.get();
+    }
+
+    public double getAverageBatchSize() {
+        long count = batches.sum();
+        return (count == 0) ? 0 : (double)processed.sum() / count;
+    }
+
+    @Override
+    public String toString() {
+        return "fila " + getQueueDepth() + " (máx " + getMaxQueueDepth() + "), " + getProcessed() + " comandos, "
+                + getRejected() + " recusados, espera média " + getAverageWaitNanos() / 1000 + " us (máx "
+                + getMaxWaitNanos() / 1000 + " us), lote médio " + String.format("%.1f", getAverageBatchSize());
+    }
+
+    private void schedule() {
+        if (scheduled.compareAndSet(false, true)) {
+            executor.execute(this::runBatch);
+        }
+    }
+
+    private void runBatch() {
+        int count = 0;
+        Command<?> command;
+        try {
+            while (count < batchSize && (command = mailbox.poll()) != null) {
+                depth.decrementAndGet();
+                count++;
+                long wait = System.nanoTime() - command.enqueued;
+                waitNanos.add(wait);
+                maxWaitNanos.accumulateAndGet(wait, Math::max);
+                if (command.wakes && chessMatch == null) {
+                    try {
+                        chessMatch = hibernated.rehydrate();
+                        hibernated = null;
+                    }
+                    catch (Throwable e) { //a partida continua hibernada; só este comando falha
+                        command.result.completeExceptionally(e);
+                        continue;
+                    }
+                }
+                command.run(chessMatch);
+            }
+        }
+        finally { //mesmo com erro o ator tem que voltar a rodar, senão a caixa para de andar
+            processed.add(count);
+            batches.increment();
+            scheduled.set(false);
+            if (!mailbox.isEmpty()) { //chegou comando durante o lote, ou o lote encheu
+                schedule();
+            }
+        }
+    }
+
+    private static class Command<T> {
+        private Function<ChessMatch, T> action;
+        private boolean wakes; //precisa da partida reidratada
+        private long enqueued = System.nanoTime();
+        private CompletableFuture<T> result = new CompletableFuture<>();
+
+        private Command(Function<ChessMatch, T> action, boolean wakes) {
+            this.action = action;
+            this.wakes = wakes;
+        }
+
+        private void run(ChessMatch chessMatch) {
+            try {
+                result.complete(action.apply(chessMatch));
+            }
+            catch (Throwable e) {
+                result.completeExceptionally(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package application.server;
+
+import chess.ChessException;
+import chess.ChessMatch;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+public class PromotionTest {
+
+    // sobe um servidor na mesma JVM e joga subpromoções por um cliente TCP, conferindo o evento publicado
+    // (posição, vez, CHECK/MATE), que a FEN publicada volta a carregar igual e que o adversário ainda consegue responder;
+    // termina com erro se algo não bater
+    private static final String[][] CASES = {
+            // FEN inicial, lance, evento esperado depois do id, resposta do adversário (ou vazio se não tiver lances)
+            {"8/4P1k1/8/8/8/8/8/K7 w - - 0 1", "e7e8n", "MOVE e7e8n 4N3/6k1/8/8/8/8/8/K7 b - - 0 1 CHECK", "g7g6"},
+            {"7k/4P3/8/8/8/8/8/KB4R1 w - - 0 1", "e7e8n", "MOVE e7e8n 4N2k/8/8/8/8/8/8/KB4R1 b - - 0 1", ""},
+            {"7k/4P3/8/8/8/8/8/KB4R1 w - - 0 1", "e7e8q", "MOVE e7e8q 4Q2k/8/8/8/8/8/8/KB4R1 b - - 0 1 MATE", ""},
+            {"k7/8/8/8/8/8/6p1/4K3 b - - 0 1", "g2g1r", "MOVE g2g1r k7/8/8/8/8/8/8/4K1r1 w - - 0 2 CHECK", "e1e2"},
+    };
+
+    public static void main(String[] args) throws Exception {
+        int failures = 0;
+        try (ChessServer server = new ChessServer(0)) {
+            server.start();
+            for (String[] c : CASES) {
+                try (Socket socket = new Socket("localhost", server.getPort())) {
+                    BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+                    BufferedWriter out = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8));
+                    String game = request(in, out, "NEW " + c[0]).substring(5);
+                    String event = request(in, out, "MOVE " + game + " " + c[1]); //o evento do lance chega antes do OK
+                    String move = event.startsWith("EVENT") ? in.readLine() : event;
+                    String moves = request(in, out, "MOVES " + game).substring(5).trim();
+                    String reply = "";
+                    if (!c[3].isEmpty() && request(in, out, "MOVE " + game + " " + c[3]).startsWith("EVENT")) {
+                        reply = in.readLine();
+                    }
+
+                    boolean ok = event != null && event.equals("EVENT " + game + " " + c[2]) && move.equals("OK") && reloads(c[2])
+                            && (c[3].isEmpty() ? moves.isEmpty() : (moves.contains(c[3]) && reply.equals("OK")));
+                    System.out.printf("%-36s %s -> %s %s%n", c[0], c[1], event, ok ? "OK" : "FALHOU (" + move + ", MOVES " + moves + ", " + reply + ")");
+                    if (!ok) {
+                        failures++;
+                    }
+                }
+            }
+        }
+        if (failures > 0) {
+            System.exit(1);
+        }
+    }
+
+    // a FEN do evento (os seis campos depois do lance) tem que ser aceita por NEW e gerar a mesma FEN
+    private static boolean reloads(String event) {
+        String[] fields = event.split(" ");
+        String fen = String.join(" ", Arrays.copyOfRange(fields, 2, 8));
+        try {
+            return new ChessMatch(fen).toFen().equals(fen);
+        }
+        catch (ChessException e) {
+            return false;
+        }
+    }
+
+    // envia um comando e devolve a primeira linha da resposta; para MOVE é o evento, e o OK vem em seguida
+    private static String request(BufferedReader in, BufferedWriter out, String command) throws IOException {
+        out.write(command);
+        out.newLine();
+        out.flush();
+        String line = in.readLine();
+        if (line == null) {
+            throw new IOException("Conexão encerrada pelo servidor");
+        }
+        return line;
+    }
+}
@@ -3,7 +3,8 @@ package boardGame;
 public class Board {
     private int rows;
     private int columns;
-    private Piece[][] pieces;
+    private Piece[] pieces; //uma casa por índice: linha * colunas + coluna
+    private int[] moveBuffer; //buffer reaproveitado pelos adaptadores boolean[][] de Piece
 
     public Board(int rows, int columns) {
         if (rows < 1 || columns < 1 ){
@@ -11,7 +12,8 @@ public class Board {
         }
         this.rows = rows;
         this.columns = columns;
-        pieces = new Piece[rows][columns];
+        pieces = new Piece[rows * columns];
+        moveBuffer = new int[rows * columns];
     }
 
     public int getRows() {
@@ -26,46 +28,88 @@ public class Board {
         if (!positionExists(row, column)){
             throw new BoardException("Posição inexistente");
         }
-        return pieces[row][column];
+        return pieces[row * columns + column];
     }
+
+    public Piece piece(int square) {
+        if (!squareExists(square)){
+            throw new BoardException("Posição inexistente");
+        }
+        return pieces[square];
+    }
+
     public Piece piece(Position position){
         if (!positionExists(position)){
             throw new BoardException("Posição inexistente");
         }
-        return pieces[position.getRow()][position.getColumn()];
+        return pieces[square(position)];
     }
 
-    public void placePiece(Piece piece, Position position){
-        if (thereIsAPiece(position)){
-            throw new BoardException("Já existe uma peça na posição " + position);
+    // as versões com casa (linha * colunas + coluna) não criam objetos; as com Position continuam para compatibilidade
+    public void placePiece(Piece piece, int square){
+        if (thereIsAPiece(square)){
+            throw new BoardException("Já existe uma peça na posição " + (square / columns) + ", " + (square % columns));
         }
-        pieces[position.getRow()][position.getColumn()] = piece;
-        piece.position = position;
+        pieces[square] = piece;
+        piece.square = square;
     }
 
-    public Piece removePiece(Position position){
+    public void placePiece(Piece piece, Position position){
         if (!positionExists(position)){
             throw new BoardException("Posição inexistente");
         }
-        if (piece(position) == null){
+        placePiece(piece, square(position));
+    }
+
+    public Piece removePiece(int square){
+        if (!squareExists(square)){
+            throw new BoardException("Posição inexistente");
+        }
+        Piece aux = pieces[square];
+        if (aux == null){
             return null;
         }
-        Piece aux = piece(position);
-        aux.position = null;
-        pieces[position.getRow()][position.getColumn()] = null;
+        aux.square = -1;
+        pieces[square] = null;
         return aux;
     }
 
-    private boolean positionExists (int row, int column) {
+    public Piece removePiece(Position position){
+        if (!positionExists(position)){
+            throw new BoardException("Posição inexistente");
+        }
+        return removePiece(square(position));
+    }
+
+    int[] moveBuffer() {
+        return moveBuffer;
+    }
+
+    public boolean positionExists(int row, int column) {
         return row >= 0 && row < rows && column >= 0 && column < columns;
     }
     public boolean positionExists(Position position) {
         return positionExists(position.getRow(), position.getColumn());
     }
+    public boolean squareExists(int square) {
+        return square >= 0 && square < pieces.length;
+    }
+
+    public boolean thereIsAPiece(int square){
+        if (!squareExists(square)){
+            throw new BoardException("Posição inexistente");
+        }
+        return pieces[square] != null;
+    }
+
     public boolean thereIsAPiece(Position position){
         if (!positionExists(position)){
             throw new BoardException("Posição inexistente");
         }
-        return piece(position) != null;
+        return thereIsAPiece(square(position));
+    }
+
+    private int square(Position position) {
+        return position.getRow() * columns + position.getColumn();
     }
 }
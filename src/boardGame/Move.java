@@ -0,0 +1,30 @@
+package boardGame;
+
+public final class Move {
+
+    // movimento codificado em um int: bits 0-7 origem, bits 8-15 destino, bits 16+ livres para o jogo (ex: promoção)
+    // as casas são numeradas por linha * colunas + coluna
+
+    private Move() {
+    }
+
+    public static int encode(int source, int target) {
+        return source | target << 8;
+    }
+
+    public static int encode(int source, int target, int flags) {
+        return source | target << 8 | flags << 16;
+    }
+
+    public static int source(int move) {
+        return move & 0xFF;
+    }
+
+    public static int target(int move) {
+        return (move >>> 8) & 0xFF;
+    }
+
+    public static int flags(int move) {
+        return move >>> 16;
+    }
+}
@@ -1,33 +1,55 @@
 package boardGame;
 
 public abstract class Piece {
-    protected Position position;
+    protected int square = -1; //casa no tabuleiro (linha * colunas + coluna), -1 fora dele
     private Board board;
 
     public Piece(Board board) {
         this.board = board;
-        position = null; //por padrão o java coloca o valor nulo, n precisa dessa linha
+    }
+
+    public Position getPosition() { //compatibilidade: cria o objeto a cada chamada, null fora do tabuleiro
+        return (square < 0) ? null : new Position(square / board.getColumns(), square % board.getColumns());
     }
 
     protected Board getBoard() { //somente classes e subclasses do mesmo pacote podem acessar o tabuleiro
         return board;
     }
 
-    public abstract boolean[][] possibleMoves();
+    // escreve os movimentos possíveis (codificados com Move) no buffer a partir de offset e retorna quantos foram escritos
+    public abstract int possibleMoves(int[] moves, int offset);
+
+    public boolean[][] possibleMoves() {
+        boolean[][] mat = new boolean[board.getRows()][board.getColumns()];
+        int[] moves = board.moveBuffer();
+        int count = possibleMoves(moves, 0);
+        for (int i = 0; i < count; i++) {
+            int target = Move.target(moves[i]);
+            mat[target / board.getColumns()][target % board.getColumns()] = true;
+        }
+        return mat;
+    }
 
     public boolean possibleMove(Position position){
-        return possibleMoves()[position.getRow()][position.getColumn()];
+        return possibleMove(square(position.getRow(), position.getColumn()));
     }
 
-    public boolean isThereAnyPossibleMove(){
-        boolean[][] mat = possibleMoves();
-        for (int i=0; i<mat.length; i++){
-            for (int j=0; j<mat.length; j++){
-                if (mat[i][j]){
-                    return true;
-                }
+    public boolean possibleMove(int target){
+        int[] moves = board.moveBuffer();
+        int count = possibleMoves(moves, 0);
+        for (int i = 0; i < count; i++) {
+            if (Move.target(moves[i]) == target) {
+                return true;
             }
         }
         return false;
     }
+
+    public boolean isThereAnyPossibleMove(){
+        return possibleMoves(board.moveBuffer(), 0) > 0;
+    }
+
+    protected int square(int row, int column) {
+        return row * board.getColumns() + column;
+    }
 }
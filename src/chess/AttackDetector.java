@@ -0,0 +1,167 @@
+package chess;
+
+import boardGame.Board;
+
+import static chess.AttackTables.KING_ATTACKS;
+import static chess.AttackTables.KNIGHT_ATTACKS;
+import static chess.AttackTables.PAWN_ATTACKS;
+import static chess.AttackTables.RAYS;
+
+class AttackDetector {
+
+    // detecta ataques partindo da casa alvo para fora (raios e saltos pré-calculados),
+    // em vez de gerar os movimentos de todas as peças adversárias
+
+    private Board board;
+    private BitboardBoard bitboards; //nulo quando o tabuleiro não é um BitboardBoard
+
+    AttackDetector(Board board) {
+        this.board = board;
+        if (board instanceof BitboardBoard) {
+            bitboards = (BitboardBoard)board;
+        }
+    }
+
+    boolean isAttacked(int square, Color by) {
+        if (bitboards != null) {
+            return attackers(square, by) != 0;
+        }
+        if (leaperAttackers(square, by) != 0) {
+            return true;
+        }
+        for (int d = 0; d < 8; d++) {
+            int attacker = firstPiece(RAYS[square][d]);
+            if (attacker >= 0 && isSlider(piece(attacker), by, d)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // se a casa é atacada por 'by' numa posição alterada: as casas de 'removed' contam como vazias e as de 'added' como
+    // ocupadas por uma peça que não ataca (usado para o rei que sai do raio e para a captura en passant)
+    boolean isAttacked(int square, Color by, long removed, long added) {
+        if ((leaperAttackers(square, by) & ~removed) != 0) {
+            return true;
+        }
+        if (bitboards != null) {
+            long occupied = (bitboards.getOccupancy() & ~removed) | added;
+            long queens = bitboards.getBitboard(by, PieceType.QUEEN);
+            long sliders = (MagicBitboards.rookAttacks(square, occupied) & (bitboards.getBitboard(by, PieceType.ROOK) | queens))
+                    | (MagicBitboards.bishopAttacks(square, occupied) & (bitboards.getBitboard(by, PieceType.BISHOP) | queens));
+            return (sliders & ~removed & ~added) != 0;
+        }
+        for (int d = 0; d < 8; d++) {
+            for (int target : RAYS[square][d]) {
+                long bit = 1L << target;
+                if ((added & bit) != 0) {
+                    break;
+                }
+                ChessPiece p = ((removed & bit) != 0) ? null : piece(target);
+                if (p != null) {
+                    if (isSlider(p, by, d)) {
+                        return true;
+                    }
+                    break;
+                }
+            }
+        }
+        return false;
+    }
+
+    // máscara com as casas das peças de 'by' que atacam a casa
+    long attackers(int square, Color by) {
+        long result = leaperAttackers(square, by);
+        if (bitboards != null) { //os raios saem das tabelas mágicas
+            long occupied = bitboards.getOccupancy();
+            long queens = bitboards.getBitboard(by, PieceType.QUEEN);
+            return result | (MagicBitboards.rookAttacks(square, occupied) & (bitboards.getBitboard(by, PieceType.ROOK) | queens))
+                    | (MagicBitboards.bishopAttacks(square, occupied) & (bitboards.getBitboard(by, PieceType.BISHOP) | queens));
+        }
+        for (int d = 0; d < 8; d++) {
+            int attacker = firstPiece(RAYS[square][d]);
+            if (attacker >= 0 && isSlider(piece(attacker), by, d)) {
+                result |= 1L << attacker;
+            }
+        }
+        return result;
+    }
+
+    // máscara com as peças de 'color' cravadas entre o rei e uma peça de longo alcance adversária
+    long pinned(int kingSquare, Color color) {
+        long result = 0L;
+        for (int d = 0; d < 8; d++) {
+            int[] ray = RAYS[kingSquare][d];
+            int first = -1;
+            for (int square : ray) {
+                ChessPiece p = piece(square);
+                if (p == null) {
+                    continue;
+                }
+                if (first < 0) {
+                    if (p.getColor() != color) {
+                        break;
+                    }
+                    first = square;
+                }
+                else {
+                    if (isSlider(p, opponent(color), d)) {
+                        result |= 1L << first;
+                    }
+                    break;
+                }
+            }
+        }
+        return result;
+    }
+
+    private long leaperAttackers(int square, Color by) {
+        long pawnSquares = PAWN_ATTACKS[opponent(by).ordinal()][square]; //um peão de 'by' ataca a casa se estiver onde um peão adversário atacaria
+        if (bitboards != null) {
+            return (KNIGHT_ATTACKS[square] & bitboards.getBitboard(by, PieceType.KNIGHT))
+                    | (KING_ATTACKS[square] & bitboards.getBitboard(by, PieceType.KING))
+                    | (pawnSquares & bitboards.getBitboard(by, PieceType.PAWN));
+        }
+        return matching(KNIGHT_ATTACKS[square], by, PieceType.KNIGHT)
+                | matching(KING_ATTACKS[square], by, PieceType.KING)
+                | matching(pawnSquares, by, PieceType.PAWN);
+    }
+
+    private long matching(long squares, Color color, PieceType type) {
+        long result = 0L;
+        while (squares != 0) {
+            int square = Long.numberOfTrailingZeros(squares);
+            squares &= squares - 1;
+            ChessPiece p = piece(square);
+            if (p != null && p.getColor() == color && p.getType() == type) {
+                result |= 1L << square;
+            }
+        }
+        return result;
+    }
+
+    private int firstPiece(int[] ray) {
+        for (int square : ray) {
+            if (piece(square) != null) {
+                return square;
+            }
+        }
+        return -1;
+    }
+
+    private ChessPiece piece(int square) {
+        return (ChessPiece)board.piece(square);
+    }
+
+    private static boolean isSlider(ChessPiece p, Color color, int direction) {
+        if (p.getColor() != color) {
+            return false;
+        }
+        PieceType type = p.getType();
+        return type == PieceType.QUEEN || type == (direction < 4 ? PieceType.ROOK : PieceType.BISHOP);
+    }
+
+    private static Color opponent(Color color) {
+        return (color == Color.BRANCO) ? Color.PRETO : Color.BRANCO;
+    }
+}
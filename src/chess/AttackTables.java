@@ -0,0 +1,73 @@
+package chess;
+
+import java.util.Arrays;
+
+public final class AttackTables {
+
+    // casas numeradas por linha * 8 + coluna (linha 0 = fileira 8, igual a Position)
+
+    // direções: 0-3 ortogonais (torre/rainha), 4-7 diagonais (bispo/rainha)
+    public static final int[] ROW_STEPS = {-1, 1, 0, 0, -1, -1, 1, 1};
+    public static final int[] COLUMN_STEPS = {0, 0, -1, 1, -1, 1, -1, 1};
+
+    public static final long[] KNIGHT_ATTACKS = new long[64];
+    public static final long[] KING_ATTACKS = new long[64];
+    public static final long[][] PAWN_ATTACKS = new long[2][64]; //[cor do peão][casa do peão]
+    public static final int[][][] RAYS = new int[64][8][]; //casas de cada raio em ordem, saindo da casa de origem
+    public static final long[][] BETWEEN = new long[64][64]; //casas entre duas casas na mesma linha, coluna ou diagonal
+    public static final long[][] LINE = new long[64][64]; //a linha inteira que passa pelas duas casas, se estiverem alinhadas
+
+    static {
+        int[][] knightSteps = {{-1, -2}, {-2, -1}, {-2, 1}, {-1, 2}, {1, 2}, {2, 1}, {2, -1}, {1, -2}};
+        for (int square = 0; square < 64; square++) {
+            int row = square >> 3;
+            int column = square & 7;
+            for (int[] s : knightSteps) {
+                KNIGHT_ATTACKS[square] |= bit(row + s[0], column + s[1]);
+            }
+            for (int d = 0; d < 8; d++) {
+                KING_ATTACKS[square] |= bit(row + ROW_STEPS[d], column + COLUMN_STEPS[d]);
+
+                int length = 0;
+                int r = row + ROW_STEPS[d];
+                int c = column + COLUMN_STEPS[d];
+                int[] ray = new int[7];
+                while (r >= 0 && r < 8 && c >= 0 && c < 8) {
+                    ray[length++] = r * 8 + c;
+                    r += ROW_STEPS[d];
+                    c += COLUMN_STEPS[d];
+                }
+                RAYS[square][d] = Arrays.copyOf(ray, length);
+            }
+            PAWN_ATTACKS[Color.BRANCO.ordinal()][square] = bit(row - 1, column - 1) | bit(row - 1, column + 1);
+            PAWN_ATTACKS[Color.PRETO.ordinal()][square] = bit(row + 1, column - 1) | bit(row + 1, column + 1);
+        }
+        for (int square = 0; square < 64; square++) {
+            for (int d = 0; d < 8; d++) {
+                long line = 1L << square;
+                for (int target : RAYS[square][d]) {
+                    line |= 1L << target;
+                }
+                for (int target : RAYS[square][(d < 4) ? d ^ 1 : 11 - d]) { //direção oposta
+                    line |= 1L << target;
+                }
+                long between = 0L;
+                for (int target : RAYS[square][d]) {
+                    BETWEEN[square][target] = between;
+                    LINE[square][target] = line;
+                    between |= 1L << target;
+                }
+            }
+        }
+    }
+
+    private AttackTables() {
+    }
+
+    private static long bit(int row, int column) {
+        if (row < 0 || row > 7 || column < 0 || column > 7) {
+            return 0L;
+        }
+        return 1L << (row * 8 + column);
+    }
+}
@@ -0,0 +1,64 @@
+package chess;
+
+import boardGame.Board;
+import boardGame.BoardException;
+import boardGame.Piece;
+
+public class BitboardBoard extends Board {
+
+    // um bitboard para cada combinação de cor e tipo de peça (2 x 6), bit = linha * 8 + coluna
+    private long[] bitboards = new long[12];
+    private long[] occupancy = new long[2];
+    private long occupied;
+
+    public BitboardBoard() {
+        super(8, 8);
+    }
+
+    public long getBitboard(Color color, PieceType type) {
+        return bitboards[index(color, type)];
+    }
+
+    public long getOccupancy(Color color) {
+        return occupancy[color.ordinal()];
+    }
+
+    public long getOccupancy() {
+        return occupied;
+    }
+
+    @Override
+    public void placePiece(Piece piece, int square) {
+        super.placePiece(piece, square);
+        ChessPiece p = (ChessPiece)piece;
+        long bit = 1L << square;
+        bitboards[index(p.getColor(), p.getType())] |= bit;
+        occupancy[p.getColor().ordinal()] |= bit;
+        occupied |= bit;
+    }
+
+    @Override
+    public Piece removePiece(int square) {
+        Piece piece = super.removePiece(square);
+        if (piece != null) {
+            ChessPiece p = (ChessPiece)piece;
+            long bit = ~(1L << square);
+            bitboards[index(p.getColor(), p.getType())] &= bit;
+            occupancy[p.getColor().ordinal()] &= bit;
+            occupied &= bit;
+        }
+        return piece;
+    }
+
+    @Override
+    public boolean thereIsAPiece(int square) {
+        if (!squareExists(square)){
+            throw new BoardException("Posição inexistente");
+        }
+        return (occupied & 1L << square) != 0;
+    }
+
+    private static int index(Color color, PieceType type) {
+        return color.ordinal() * 6 + type.ordinal();
+    }
+}
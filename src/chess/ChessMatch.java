@@ -1,17 +1,21 @@
 package chess;
 
 import boardGame.Board;
+import boardGame.Move;
 import boardGame.Piece;
-import boardGame.Position;
 import chess.pieces.*;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
-import java.util.stream.Collectors;
 
 public class ChessMatch {
 
+    public static final String INITIAL_FEN = "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1";
+    private static final String FEN_PIECES = "pnbrqk"; //na ordem de PieceType
+
     private int turn;
+    private int halfMoveClock; //lances desde a última captura ou movimento de peão
     private Color currentPlayer;
     private Board board;
     private boolean check;
@@ -19,20 +23,190 @@ public class ChessMatch {
     private ChessPiece enPassantVulnerable;
     private ChessPiece promoted;
 
-    private List<Piece> piecesOnTheBoard = new ArrayList<>();
+    // peças no tabuleiro por cor e tipo ([cor * 6 + tipo]), cada lista em pieces[i][0..pieceCounts[i]); o rei fica também em kings
+    private ChessPiece[][] pieces = new ChessPiece[12][10]; //até 10 de um tipo (2 originais + 8 promoções)
+    private int[] pieceCounts = new int[12];
     private List<Piece> capturedPieces = new ArrayList<>();
+    private int[] moveBuffer = new int[256];
+
+    // movimentos legais da última posição consultada (promoção uma vez só), reaproveitados pela dica, pela validação
+    // e pelo teste de xequemate; a chave é a de Zobrist com a vez de quem vai jogar, então qualquer movimento a invalida
+    private int[] legalCache = new int[256];
+    private int legalCount;
+    private long legalKey;
+    private boolean legalCached;
+
+    private volatile PositionSnapshot snapshot; //última posição publicada, para leitura por outras threads sem trava
+    private short[] archivedMoves; //lances jogados antes da última hibernação, que não estão mais no histórico
+
+    private int enPassantColumn = -1;
+    private long zobristKey; //atualizada por XOR a cada peça colocada ou retirada, troca de vez, direitos de roque e en passant
+
+    // material e tabelas de casas (PieceSquareTables), brancas menos pretas, somados a cada peça colocada ou retirada
+    private int midgameScore;
+    private int endgameScore;
+    private int phase;
+    private long pawnKey; //chave de Zobrist só dos peões, para a tabela de estrutura de peões da avaliação
+
+    private MoveRecord[] history = new MoveRecord[64];
+    private int historySize;
+    private int redoSize; //registros desfeitos logo acima de historySize, descartados no próximo movimento
+
+    // xeques e cravadas de cada cor, recalculados a partir da casa do rei na primeira consulta após um movimento
+    private AttackDetector attacks;
+    private ChessPiece[] kings = new ChessPiece[2];
+    private long[] checkers = new long[2];
+    private long[] pinned = new long[2];
+    private int staleCheckers = 3; //um bit por cor
+    private int stalePinned = 3;
 
     public ChessMatch(){
-        board = new Board(8,8);
+        this(new Board(8,8));
+    }
+
+    public ChessMatch(Board board){ //permite usar outro tabuleiro, ex: BitboardBoard
+        validateBoard(board);
+        this.board = board;
+        attacks = new AttackDetector(board);
         turn = 1;
         currentPlayer = Color.BRANCO;
         initialSetup();
+        invalidateAttacks();
+        zobristKey = computeZobristKey();
+        publishSnapshot();
+    }
+
+    public ChessMatch(String fen){
+        this(new Board(8, 8), fen);
+    }
+
+    // monta a posição descrita pela FEN direto no tabuleiro, sem repetir os lances da partida
+    public ChessMatch(Board board, String fen){
+        validateBoard(board);
+        this.board = board;
+        attacks = new AttackDetector(board);
+        loadFen(fen);
+        invalidateAttacks();
+        if (testCheck(opponent(currentPlayer))){
+            throw new ChessException("FEN inválida: o rei de quem não tem a vez está em xeque");
+        }
+        zobristKey = computeZobristKey();
+        check = testCheck(currentPlayer);
+        checkMate = testCheckMate(currentPlayer);
+        if (checkMate){ //a FEN traz quem levou o mate com a vez; aqui a vez fica com quem deu o mate, como depois de performChessMove
+            previousTurn();
+        }
+        publishSnapshot();
+    }
+
+    // cópia independente, com tabuleiro e peças próprios, para ser usada em outra thread; o histórico não é copiado
+    public ChessMatch(ChessMatch other){
+        board = (other.board instanceof BitboardBoard) ? new BitboardBoard() : new Board(8, 8);
+        attacks = new AttackDetector(board);
+        turn = other.turn;
+        halfMoveClock = other.halfMoveClock;
+        currentPlayer = other.currentPlayer;
+        check = other.check;
+        checkMate = other.checkMate;
+        for (int i = 0; i < 12; i++){
+            for (int j = 0; j < other.pieceCounts[i]; j++){
+                ChessPiece original = other.pieces[i][j];
+                ChessPiece copy = copyPiece(original);
+                placeNewPiece(copy, original.square());
+                if (original == other.enPassantVulnerable){
+                    enPassantVulnerable = copy;
+                }
+                if (original == other.promoted){
+                    promoted = copy;
+                }
+            }
+        }
+        for (Piece p : other.capturedPieces){
+            capturedPieces.add(copyPiece((ChessPiece)p));
+        }
+        enPassantColumn = other.enPassantColumn;
+        zobristKey = other.zobristKey;
+        invalidateAttacks();
+        publishSnapshot();
+    }
+
+    // volta de uma partida hibernada, montando a posição direto dos bytes; o histórico de desfazer começa vazio
+    ChessMatch(HibernatedMatch hibernated){
+        byte[] packed = hibernated.position;
+        int flags = packed[HibernatedMatch.FLAGS] & 0xFF;
+        board = ((flags & HibernatedMatch.BITBOARD) != 0) ? new BitboardBoard() : new Board(8, 8);
+        attacks = new AttackDetector(board);
+        for (int square = 0; square < 64; square++){
+            int code = (packed[square >> 1] >> ((square & 1) * 4)) & 15;
+            if (code != 0){
+                Color color = Color.values()[(code - 1) / 6];
+                ChessPiece piece = newPiece(ChessMove.pieceType((code - 1) % 6), color);
+                if (piece instanceof Pawn && square >> 3 != ((color == Color.BRANCO) ? 6 : 1)){
+                    piece.setMoveCount(1);
+                }
+                placeNewPiece(piece, square);
+            }
+        }
+        currentPlayer = ((flags & HibernatedMatch.BLACK_TO_MOVE) != 0) ? Color.PRETO : Color.BRANCO;
+        check = (flags & HibernatedMatch.CHECK) != 0;
+        checkMate = (flags & HibernatedMatch.CHECK_MATE) != 0;
+        setCastlingRights(flags >> 4);
+        int enPassant = packed[HibernatedMatch.EN_PASSANT];
+        if (enPassant != 0){
+            enPassantColumn = enPassant - 1;
+            enPassantVulnerable = (ChessPiece)board.piece((currentPlayer == Color.BRANCO) ? 3 : 4, enPassantColumn);
+        }
+        halfMoveClock = packed[HibernatedMatch.HALF_MOVE_CLOCK] & 0xFF;
+        turn = (packed[HibernatedMatch.TURN] & 0xFF) | (packed[HibernatedMatch.TURN + 1] & 0xFF) << 8;
+        if (checkMate){ //guardada com a vez de quem levou o mate, igual à FEN
+            previousTurn();
+        }
+        archivedMoves = hibernated.moves;
+        invalidateAttacks();
+        zobristKey = computeZobristKey();
+        publishSnapshot();
+    }
+
+    // guarda a partida em poucos bytes (posição empacotada e lances em 16 bits) para liberar a memória enquanto ela está parada;
+    // a peça promovida pendente de replacePromotedPiece e o histórico de desfazer não são guardados
+    public HibernatedMatch hibernate(){
+        byte[] packed = new byte[HibernatedMatch.POSITION_BYTES];
+        for (int i = 0; i < 12; i++){
+            for (int j = 0; j < pieceCounts[i]; j++){
+                int square = pieces[i][j].square();
+                packed[square >> 1] |= (i + 1) << ((square & 1) * 4);
+            }
+        }
+        // no xequemate a vez guardada é a de quem levou o mate, como no snapshot e na FEN
+        Color toMove = checkMate ? opponent(currentPlayer) : currentPlayer;
+        int packedTurn = checkMate ? turn + 1 : turn;
+        int flags = castlingRights() << 4;
+        if (toMove == Color.PRETO) flags |= HibernatedMatch.BLACK_TO_MOVE;
+        if (check) flags |= HibernatedMatch.CHECK;
+        if (checkMate) flags |= HibernatedMatch.CHECK_MATE;
+        if (board instanceof BitboardBoard) flags |= HibernatedMatch.BITBOARD;
+        packed[HibernatedMatch.FLAGS] = (byte)flags;
+        packed[HibernatedMatch.EN_PASSANT] = (byte)((enPassantVulnerable == null) ? 0 : (enPassantVulnerable.square() & 7) + 1);
+        packed[HibernatedMatch.HALF_MOVE_CLOCK] = (byte)Math.min(halfMoveClock, 255);
+        packed[HibernatedMatch.TURN] = (byte)packedTurn;
+        packed[HibernatedMatch.TURN + 1] = (byte)(packedTurn >> 8);
+
+        int archived = (archivedMoves == null) ? 0 : archivedMoves.length;
+        short[] moves = (archived == 0) ? new short[historySize] : Arrays.copyOf(archivedMoves, archived + historySize);
+        for (int i = 0; i < historySize; i++){
+            moves[archived + i] = ChessMove.pack(history[i].move);
+        }
+        return new HibernatedMatch(packed, moves);
     }
 
     public int getTurn() {
         return turn;
     }
 
+    public int getHalfMoveClock() {
+        return halfMoveClock;
+    }
+
     public Color getCurrentPlayer() {
         return currentPlayer;
     }
@@ -53,6 +227,39 @@ public class ChessMatch {
         return promoted;
     }
 
+    // material e tabelas de casas, do ponto de vista das brancas, interpolados entre meio-jogo e final pela fase do jogo
+    public int getPieceSquareScore(){
+        int weight = getGamePhase();
+        return (midgameScore * weight + endgameScore * (PieceSquareTables.MAX_PHASE - weight)) / PieceSquareTables.MAX_PHASE;
+    }
+
+    public int getGamePhase(){ //de MAX_PHASE (todas as peças) a 0 (só reis e peões)
+        return Math.min(phase, PieceSquareTables.MAX_PHASE);
+    }
+
+    public long getPieceMask(Color color, PieceType type){ //casas das peças desse tipo e cor, um bit por casa
+        int i = color.ordinal() * 6 + type.ordinal();
+        long mask = 0L;
+        for (int j = 0; j < pieceCounts[i]; j++){
+            mask |= 1L << pieces[i][j].square();
+        }
+        return mask;
+    }
+
+    public long getPawnKey(){ //muda só quando um peão anda, é capturado ou é promovido
+        return pawnKey;
+    }
+
+    public long getZobristKey(){
+        return zobristKey;
+    }
+
+    // posição depois do último performChessMove, replacePromotedPiece, undo ou redo; makeMove e undoMove não publicam,
+    // então durante uma busca o snapshot continua mostrando a posição da partida
+    public PositionSnapshot getSnapshot(){
+        return snapshot;
+    }
+
     public ChessPiece[][] getPieces() {
         ChessPiece[][] mat = new ChessPiece[board.getRows()][board.getColumns()];
         for (int i = 0; i< board.getRows(); i++){
@@ -63,69 +270,271 @@ public class ChessMatch {
         return mat;
     }
 
+    public ChessPiece pieceAt(int square){ //casa de 0 a 63 (linha * 8 + coluna)
+        return (ChessPiece)board.piece(square);
+    }
+
     public boolean[][] possibleMoves(ChessPosition sourcePosition){
-        Position position = sourcePosition.toPosition();
-        validateSourcePosition(position);
-        return board.piece(position).possibleMoves();
+        int source = sourcePosition.toSquare();
+        validateSourcePosition(source);
+        long targets = legalTargets(source);
+        boolean[][] moves = new boolean[8][8];
+        for (int square = 0; square < 64; square++){
+            moves[square / 8][square % 8] = (targets & 1L << square) != 0;
+        }
+        return moves;
     }
 
     public ChessPiece performChessMove(ChessPosition sourcePosition, ChessPosition targetPosition){
-        Position source = sourcePosition.toPosition();
-        Position target = targetPosition.toPosition();
-        validateSourcePosition(source); //operação responsavel para validar a posição de origem
-        validateTargetPosition(source, target);
-        Piece capturedPiece = makeMove(source, target);
+        return performChessMove(sourcePosition.toSquare(), targetPosition.toSquare());
+    }
 
-        if (testCheck(currentPlayer)){
-            undoMove(source, target, capturedPiece);
-            throw new ChessException("Você não pode se colocar em xeque.");
+    // o mesmo que performChessMove(ChessPosition, ChessPosition), com as casas de 0 a 63 (linha * 8 + coluna)
+    public ChessPiece performChessMove(int source, int target){
+        return performChessMove(source, target, PieceType.QUEEN);
+    }
+
+    // 'promotion' é a peça que o peão vira se chegar à última fileira (ignorada nos outros lances); escolhida aqui,
+    // ela já conta no teste de xeque e xequemate e na troca de vez
+    public ChessPiece performChessMove(int source, int target, PieceType promotion){
+        if (promotion == PieceType.PAWN || promotion == PieceType.KING){
+            throw new ChessException("Peça inválida para a promoção: " + promotion);
         }
+        validateSourcePosition(source); //operação responsavel para validar a posição de origem
+        validateTargetPosition(source, target);
+        Piece capturedPiece = applyMove(source, target);
 
         ChessPiece movedPiece = (ChessPiece)board.piece(target);
 
         // Promoção
         promoted = null;
         if (movedPiece instanceof Pawn){
-            if ((movedPiece.getColor() == Color.BRANCO && target.getRow() == 0) || (movedPiece.getColor() == Color.PRETO && target.getRow() == 7)){
-                promoted = (ChessPiece)board.piece(target);
-                promoted = replacePromotedPiece("Q"); //por padrão será trocado pela rainha, caso o usuário queira pode escolher outra peça
+            if ((movedPiece.getColor() == Color.BRANCO && target < 8) || (movedPiece.getColor() == Color.PRETO && target >= 56)){
+                promoted = movedPiece;
+                promoted = promote(newPiece(promotion, movedPiece.getColor())); //por padrão será trocado pela rainha, caso o usuário queira pode escolher outra peça
             }
         }
 
-        check = (testCheck(opponent(currentPlayer))) ? true : false;
+        // En Passant (antes do teste de xequemate, a captura en passant pode ser a única defesa)
+        if (movedPiece instanceof Pawn && Math.abs(target - source) == 16){
+            setEnPassantVulnerable(movedPiece);
+        }
+        else {
+            setEnPassantVulnerable(null);
+        }
+
+        endTurn();
+        publishSnapshot();
 
-        if (testCheckMate(opponent(currentPlayer))){
-            checkMate = true;
-        } else {
-            nextTurn();
+        return (ChessPiece)capturedPiece;
+    }
+
+    // gera os movimentos legais do jogador da vez (promoções aparecem uma vez para cada peça) e retorna quantos foram escritos
+    public int legalMoves(int[] moves){
+        if (checkMate){ //depois do mate a vez fica com quem venceu, mas o jogo acabou: ninguém tem lance
+            return 0;
+        }
+        int legal = legalMoves(currentPlayer);
+        int count = 0;
+        for (int i = 0; i < legal; i++){
+            int move = legalCache[i];
+            int source = Move.source(move);
+            int target = Move.target(move);
+            if (board.piece(source) instanceof Pawn && (target < 8 || target >= 56)){
+                moves[count++] = ChessMove.encode(source, target, PieceType.QUEEN);
+                moves[count++] = ChessMove.encode(source, target, PieceType.ROOK);
+                moves[count++] = ChessMove.encode(source, target, PieceType.BISHOP);
+                moves[count++] = ChessMove.encode(source, target, PieceType.KNIGHT);
+            }
+            else {
+                moves[count++] = move;
+            }
         }
+        return count;
+    }
 
-        // En Passant
-        if (movedPiece instanceof Pawn && (target.getRow() == source.getRow() - 2 || target.getRow() == source.getRow() + 2)){
-            enPassantVulnerable = movedPiece;
+    // preenche legalCache com os movimentos legais de 'color', a não ser que a posição seja a mesma da última consulta
+    private int legalMoves(Color color){
+        long key = (color == currentPlayer) ? zobristKey : zobristKey ^ Zobrist.BLACK_TO_MOVE;
+        if (legalCached && legalKey == key){
+            return legalCount;
+        }
+        ChessPiece king = king(color);
+        int kingSquare = king.square();
+        long checkingPieces = checkers(color);
+        long evasions = -1L; //destinos que resolvem o xeque para as outras peças: todos, se não houver xeque
+        if (checkingPieces != 0){
+            evasions = (Long.bitCount(checkingPieces) > 1) ? 0L //xeque duplo: só o rei pode mover
+                    : checkingPieces | AttackTables.BETWEEN[kingSquare][Long.numberOfTrailingZeros(checkingPieces)];
+        }
+        int pseudoCount = 0;
+        if (evasions == 0){
+            pseudoCount = king.possibleMoves(moveBuffer, 0);
         }
         else {
-            enPassantVulnerable = null;
+            for (int i = color.ordinal() * 6, end = i + 6; i < end; i++){
+                for (int j = 0; j < pieceCounts[i]; j++){
+                    pseudoCount += pieces[i][j].possibleMoves(moveBuffer, pseudoCount);
+                }
+            }
+        }
+        int count = 0;
+        long pinnedPieces = pinned(color);
+        for (int i = 0; i < pseudoCount; i++){
+            if (isLegal(moveBuffer[i], kingSquare, evasions, pinnedPieces)){
+                legalCache[count++] = moveBuffer[i];
+            }
         }
+        legalCount = count;
+        legalKey = key;
+        legalCached = true;
+        return count;
+    }
 
-        return (ChessPiece)capturedPiece;
+    private long legalTargets(int source){ //casas de destino legais da peça em 'source', como máscara de bits
+        int count = legalMoves(currentPlayer);
+        long targets = 0L;
+        for (int i = 0; i < count; i++){
+            if (Move.source(legalCache[i]) == source){
+                targets |= 1L << Move.target(legalCache[i]);
+            }
+        }
+        return targets;
+    }
+
+    // aplica um movimento já validado (ex: vindo de legalMoves) atualizando todo o estado da partida, sem testar xequemate
+    public void makeMove(int move){
+        int source = Move.source(move);
+        int target = Move.target(move);
+        ChessPiece movedPiece = (ChessPiece)board.piece(source);
+        applyMove(source, target);
+
+        promoted = null;
+        if (movedPiece instanceof Pawn && (target < 8 || target >= 56)){
+            PieceType type = ChessMove.promotion(move);
+            swapPiece(target, newPiece(type == null ? PieceType.QUEEN : type, movedPiece.getColor()));
+            history[historySize - 1].move = ChessMove.encode(source, target, ((ChessPiece)board.piece(target)).getType());
+        }
+        setEnPassantVulnerable((movedPiece instanceof Pawn && Math.abs(target - source) == 16) ? movedPiece : null);
+
+        nextTurn();
+        check = testCheck(currentPlayer);
+        checkMate = false;
     }
 
+    // desfaz o último movimento, seja de makeMove ou de performChessMove
+    public void undoMove(){
+        if (historySize == 0){
+            throw new IllegalStateException("Não há movimento para desfazer");
+        }
+        MoveRecord record = history[--historySize];
+        int source = Move.source(record.move);
+        int target = Move.target(record.move);
+
+        // estado depois do movimento, para redo
+        record.placedPiece = (ChessPiece)board.piece(target);
+        record.enPassantAfter = enPassantVulnerable;
+        record.promotedAfter = promoted;
+        record.checkAfter = check;
+        record.checkMateAfter = checkMate;
+        record.turnAfter = turn;
+        record.currentPlayerAfter = currentPlayer;
+        record.zobristKeyAfter = zobristKey;
+        redoSize++;
+
+        if (record.placedPiece != record.movedPiece){ //a peça promovida volta a ser o peão
+            swapPiece(target, record.movedPiece);
+        }
+        enPassantVulnerable = record.enPassantVulnerable;
+        undoMove(source, target, record.capturedPiece);
+
+        promoted = record.promoted;
+        check = record.check;
+        checkMate = record.checkMate;
+        turn = record.turn;
+        halfMoveClock = record.halfMoveClock;
+        currentPlayer = record.currentPlayer;
+        zobristKey = record.zobristKey;
+        enPassantColumn = (enPassantVulnerable == null) ? -1 : enPassantVulnerable.square() & 7;
+    }
+
+    // desfaz o último lance (o mesmo que undoMove), que continua disponível para redo até o próximo movimento
+    public void undo(){
+        undoMove();
+        publishSnapshot();
+    }
+
+    // refaz o último lance desfeito, voltando ao estado exato de depois dele, inclusive xeque, xequemate e promoção
+    public void redo(){
+        if (redoSize == 0){
+            throw new IllegalStateException("Não há movimento para refazer");
+        }
+        int remaining = redoSize - 1;
+        MoveRecord record = history[historySize];
+        int move = record.move;
+        int source = Move.source(move);
+        int target = Move.target(move);
+        applyMove(source, target); //reaproveita o mesmo registro
+        record.move = move;
+
+        if (record.placedPiece != record.movedPiece){
+            swapPiece(target, record.placedPiece);
+        }
+        setEnPassantVulnerable(record.enPassantAfter);
+        promoted = record.promotedAfter;
+        check = record.checkAfter;
+        checkMate = record.checkMateAfter;
+        turn = record.turnAfter;
+        currentPlayer = record.currentPlayerAfter;
+        zobristKey = record.zobristKeyAfter;
+        redoSize = remaining;
+        publishSnapshot();
+    }
+
+    public int getHistorySize(){ //lances que podem ser desfeitos
+        return historySize;
+    }
+
+    public int getRedoSize(){ //lances desfeitos que podem ser refeitos
+        return redoSize;
+    }
+
+    public int getHistoryMove(int index){ //lance já jogado, no formato de ChessMove (com a peça da promoção)
+        if (index < 0 || index >= historySize){
+            throw new IndexOutOfBoundsException("Lance " + index + " fora do histórico");
+        }
+        return history[index].move;
+    }
+
+    public boolean isSquareAttacked(int square, Color color){ //se alguma peça de 'color' ataca a casa (0 a 63)
+        return attacks.isAttacked(square, color);
+    }
+
+    // troca a peça do último performChessMove; xeque, xequemate e a vez são refeitos com a peça nova antes de publicar
     public ChessPiece replacePromotedPiece(String type){
+        promoted = promote(type);
+        if (!checkMate){ //a vez já tinha passado para o adversário: volta para quem promoveu
+            previousTurn();
+        }
+        endTurn();
+        publishSnapshot();
+        return promoted;
+    }
+
+    private ChessPiece promote(String type){
         if (promoted == null){
             throw new IllegalStateException("Não há peça para ser promovida");
         }
         if (!type.equals("B") && !type.equals("N") && !type.equals("R") & !type.equals("Q")){
            return promoted;
         }
+        return promote(newPiece(type, promoted.getColor()));
+    }
 
-        Position pos = promoted.getChessPosition().toPosition();
-        Piece p = board.removePiece(pos);
-        piecesOnTheBoard.remove(p);
-
-        ChessPiece newPiece = newPiece(type, promoted.getColor());
-        board.placePiece(newPiece, pos);
-        piecesOnTheBoard.add(newPiece);
+    private ChessPiece promote(ChessPiece newPiece){ //troca a peça promovida por newPiece e corrige o lance no histórico
+        swapPiece(promoted.square(), newPiece);
+        MoveRecord record = history[historySize - 1];
+        record.move = ChessMove.encode(Move.source(record.move), Move.target(record.move), newPiece.getType());
 
         return newPiece;
 
@@ -138,120 +547,416 @@ public class ChessMatch {
         return new Rook(board, color);
     }
 
-    private Piece makeMove(Position source, Position target){
-        ChessPiece p = (ChessPiece)board.removePiece(source); //remove a peça selecionada para o movimento
+    private ChessPiece newPiece(PieceType type, Color color) {
+        if (type == PieceType.PAWN) return new Pawn(board, color, this);
+        if (type == PieceType.KING) return new King(board, color, this);
+        if (type == PieceType.BISHOP) return new Bishop(board, color);
+        if (type == PieceType.KNIGHT) return new Knight(board, color);
+        if (type == PieceType.ROOK) return new Rook(board, color);
+        return new Queen(board, color);
+    }
+
+    private ChessPiece copyPiece(ChessPiece piece){
+        ChessPiece copy = newPiece(piece.getType(), piece.getColor());
+        copy.setMoveCount(piece.getMoveCount());
+        return copy;
+    }
+
+    private void swapPiece(int square, ChessPiece newPiece){ //troca a peça da casa (promoção e sua reversão)
+        removePiece((ChessPiece)removeFromBoard(square));
+        placeOnBoard(newPiece, square);
+        addPiece(newPiece);
+        invalidateAttacks();
+    }
+
+    // decide a legalidade sem fazer o movimento: o rei não pode ir para casa atacada (contando os raios que ele mesmo
+    // bloqueava), as outras peças precisam resolver o xeque e, se cravadas, ficar na linha do rei; a captura en passant
+    // tira duas peças da mesma fileira, então é testada com a ocupação alterada
+    private boolean isLegal(int move, int kingSquare, long evasions, long pinnedPieces){
+        int source = Move.source(move);
+        int target = Move.target(move);
+        ChessPiece p = (ChessPiece)board.piece(source);
+        Color opponent = opponent(p.getColor());
+        if (source == kingSquare){
+            return !attacks.isAttacked(target, opponent, 1L << source, 0L);
+        }
+        if (p instanceof Pawn && (target - source) % 8 != 0 && board.piece(target) == null){
+            int captured = (source & ~7) | (target & 7);
+            return !attacks.isAttacked(kingSquare, opponent, 1L << source | 1L << captured, 1L << target);
+        }
+        return (evasions & 1L << target) != 0
+                && ((pinnedPieces & 1L << source) == 0 || (AttackTables.LINE[kingSquare][source] & 1L << target) != 0);
+    }
+
+    private Piece applyMove(int source, int target){ //guarda o estado atual no histórico e move as peças
+        if (historySize == history.length){
+            history = Arrays.copyOf(history, historySize * 2);
+        }
+        if (history[historySize] == null){
+            history[historySize] = new MoveRecord();
+        }
+        MoveRecord record = history[historySize++];
+        redoSize = 0;
+        record.move = ChessMove.encode(source, target);
+        record.movedPiece = (ChessPiece)board.piece(source);
+        record.enPassantVulnerable = enPassantVulnerable;
+        record.promoted = promoted;
+        record.check = check;
+        record.checkMate = checkMate;
+        record.turn = turn;
+        record.halfMoveClock = halfMoveClock;
+        record.currentPlayer = currentPlayer;
+        record.zobristKey = zobristKey;
+        int castling = castlingRights();
+        record.capturedPiece = makeMove(source, target);
+        zobristKey ^= Zobrist.CASTLING[castling] ^ Zobrist.CASTLING[castlingRights()];
+        halfMoveClock = (record.movedPiece instanceof Pawn || record.capturedPiece != null) ? 0 : halfMoveClock + 1;
+        return record.capturedPiece;
+    }
+
+    private Piece makeMove(int source, int target){
+        ChessPiece p = (ChessPiece)removeFromBoard(source); //remove a peça selecionada para o movimento
         p.increaseMoveCount();
-        Piece capturedPiece = board.removePiece(target); //remover a peça que está no destino, que por padrão vai ser capturada
-        board.placePiece(p, target); //coloca a peça de origem no destino selecionado
+        Piece capturedPiece = removeFromBoard(target); //remover a peça que está no destino, que por padrão vai ser capturada
+        placeOnBoard(p, target); //coloca a peça de origem no destino selecionado
 
         if(capturedPiece != null){
-            piecesOnTheBoard.remove(capturedPiece);
+            removePiece((ChessPiece)capturedPiece);
             capturedPieces.add(capturedPiece);
         }
 
         // Roque pequeno
-        if (p instanceof King && target.getColumn() == source.getColumn() + 2){
-            Position sourceT = new Position(source.getRow(), source.getColumn() + 3);
-            Position targetT = new Position(source.getRow(), source.getColumn() + 1);
-            ChessPiece rook = (ChessPiece)board.removePiece(sourceT); //tira a torre da origem
-            board.placePiece(rook, targetT); //coloca a torre no destino
+        if (p instanceof King && target == source + 2){
+            ChessPiece rook = (ChessPiece)removeFromBoard(source + 3); //tira a torre da origem
+            placeOnBoard(rook, source + 1); //coloca a torre no destino
             rook.increaseMoveCount();
         }
 
         // Roque grande
-        if (p instanceof King && target.getColumn() == source.getColumn() - 2){
-            Position sourceT = new Position(source.getRow(), source.getColumn() - 4);
-            Position targetT = new Position(source.getRow(), source.getColumn() - 1);
-            ChessPiece rook = (ChessPiece)board.removePiece(sourceT);
-            board.placePiece(rook, targetT);
+        if (p instanceof King && target == source - 2){
+            ChessPiece rook = (ChessPiece)removeFromBoard(source - 4);
+            placeOnBoard(rook, source - 1);
             rook.increaseMoveCount();
         }
 
         // En Passant
         if (p instanceof Pawn){
-            if (source.getColumn() != target.getColumn() && capturedPiece == null){
-                Position pawnPosition;
-                if(p.getColor() == Color.BRANCO){
-                    pawnPosition = new Position(target.getRow() + 1, target.getColumn());
-                }
-                else {
-                    pawnPosition = new Position(target.getRow() - 1, target.getColumn());
-                }
-                capturedPiece = board.removePiece(pawnPosition);
+            if ((source & 7) != (target & 7) && capturedPiece == null){
+                int pawnSquare = (p.getColor() == Color.BRANCO) ? target + 8 : target - 8;
+                capturedPiece = removeFromBoard(pawnSquare);
                 capturedPieces.add(capturedPiece);
-                piecesOnTheBoard.remove(capturedPiece);
+                removePiece((ChessPiece)capturedPiece);
             }
         }
 
+        invalidateAttacks();
         return capturedPiece;
     }
 
-    private void undoMove(Position source, Position target, Piece capturedPiece){
-        ChessPiece p = (ChessPiece)board.removePiece(target);
+    private void undoMove(int source, int target, Piece capturedPiece){
+        ChessPiece p = (ChessPiece)removeFromBoard(target);
         p.decreaseMoveCount();
-        board.placePiece(p, source);
+        placeOnBoard(p, source);
 
         if (capturedPiece != null){
-            board.placePiece(capturedPiece, target);
+            placeOnBoard(capturedPiece, target);
             capturedPieces.remove(capturedPiece);
-            piecesOnTheBoard.add(capturedPiece);
+            addPiece((ChessPiece)capturedPiece);
         }
 
         // Roque pequeno
-        if (p instanceof King && target.getColumn() == source.getColumn() + 2){
-            Position sourceT = new Position(source.getRow(), source.getColumn() + 3);
-            Position targetT = new Position(source.getRow(), source.getColumn() + 1);
-            ChessPiece rook = (ChessPiece)board.removePiece(targetT);
-            board.placePiece(rook, sourceT);
+        if (p instanceof King && target == source + 2){
+            ChessPiece rook = (ChessPiece)removeFromBoard(source + 1);
+            placeOnBoard(rook, source + 3);
             rook.decreaseMoveCount();
         }
 
         // Roque grande
-        if (p instanceof King && target.getColumn() == source.getColumn() - 2){
-            Position sourceT = new Position(source.getRow(), source.getColumn() - 4);
-            Position targetT = new Position(source.getRow(), source.getColumn() - 1);
-            ChessPiece rook = (ChessPiece)board.removePiece(targetT);
-            board.placePiece(rook, sourceT);
+        if (p instanceof King && target == source - 2){
+            ChessPiece rook = (ChessPiece)removeFromBoard(source - 1);
+            placeOnBoard(rook, source - 4);
             rook.decreaseMoveCount();
         }
 
         // En Passant
         if (p instanceof Pawn){
-            if (source.getColumn() != target.getColumn() && capturedPiece == enPassantVulnerable){
-                ChessPiece pawn = (ChessPiece)board.removePiece(target);
-                Position pawnPosition;
-                if(p.getColor() == Color.BRANCO){
-                    pawnPosition = new Position(3, target.getColumn());
+            if ((source & 7) != (target & 7) && capturedPiece == enPassantVulnerable){
+                ChessPiece pawn = (ChessPiece)removeFromBoard(target);
+                placeOnBoard(pawn, ((p.getColor() == Color.BRANCO) ? 3 : 4) * 8 + (target & 7));
+            }
+        }
+
+        invalidateAttacks();
+    }
+
+    public String toFen(){
+        return createSnapshot().toFen();
+    }
+
+    private void loadFen(String fen){
+        String[] fields = fen.trim().split("\\s+");
+        if (fields.length < 4 || fields.length > 6){
+            throw new ChessException("FEN inválida: esperados de 4 a 6 campos em '" + fen + "'");
+        }
+
+        // Peças
+        String[] rows = fields[0].split("/");
+        if (rows.length != 8){
+            throw new ChessException("FEN inválida: esperadas 8 linhas no tabuleiro");
+        }
+        for (int row = 0; row < 8; row++){
+            int column = 0;
+            for (char c : rows[row].toCharArray()){
+                if (c >= '1' && c <= '8'){
+                    column += c - '0';
+                    continue;
+                }
+                int type = FEN_PIECES.indexOf(Character.toLowerCase(c));
+                if (type < 0 || column > 7){
+                    throw new ChessException("FEN inválida: '" + c + "' na linha " + (8 - row));
                 }
-                else {
-                    pawnPosition = new Position(4, target.getColumn());
+                Color color = Character.isUpperCase(c) ? Color.BRANCO : Color.PRETO;
+                ChessPiece piece = newPiece(PieceType.values()[type], color);
+                if (piece instanceof King && kings[color.ordinal()] != null){
+                    throw new ChessException("FEN inválida: mais de um Rei da cor " + color);
+                }
+                if (piece instanceof Pawn){
+                    if (row == 0 || row == 7){
+                        throw new ChessException("FEN inválida: peão na linha " + (8 - row));
+                    }
+                    if (row != (color == Color.BRANCO ? 6 : 1)){
+                        piece.setMoveCount(1); //fora da casa inicial, já não pode andar duas casas
+                    }
                 }
-                board.placePiece(pawn, pawnPosition);
+                placeNewPiece(piece, row * 8 + column++);
             }
+            if (column != 8){
+                throw new ChessException("FEN inválida: a linha " + (8 - row) + " não tem 8 casas");
+            }
+        }
+        if (kings[0] == null || kings[1] == null){
+            throw new ChessException("FEN inválida: cada jogador precisa de um Rei");
+        }
+
+        // Vez
+        if (fields[1].equals("w")){
+            currentPlayer = Color.BRANCO;
+        }
+        else if (fields[1].equals("b")){
+            currentPlayer = Color.PRETO;
+        }
+        else {
+            throw new ChessException("FEN inválida: vez '" + fields[1] + "'");
+        }
+
+        // Roque
+        int rights = 0;
+        if (!fields[2].equals("-")){
+            for (char c : fields[2].toCharArray()){
+                int index = "KQkq".indexOf(c);
+                if (index < 0){
+                    throw new ChessException("FEN inválida: direito de roque '" + c + "'");
+                }
+                rights |= 1 << index; //na ordem de Zobrist.WHITE_KINGSIDE, WHITE_QUEENSIDE, BLACK_KINGSIDE e BLACK_QUEENSIDE
+            }
+        }
+        setCastlingRights(rights);
+
+        // En passant: o peão que acabou de andar duas casas está logo à frente da casa indicada
+        if (!fields[3].equals("-")){
+            int row = (currentPlayer == Color.BRANCO) ? 3 : 4;
+            String expected = (currentPlayer == Color.BRANCO) ? "6" : "3";
+            int column = fields[3].charAt(0) - 'a';
+            ChessPiece pawn = (fields[3].length() == 2 && column >= 0 && column < 8 && fields[3].substring(1).equals(expected))
+                    ? (ChessPiece)board.piece(row, column) : null;
+            if (!(pawn instanceof Pawn) || pawn.getColor() == currentPlayer){
+                throw new ChessException("FEN inválida: casa de en passant '" + fields[3] + "'");
+            }
+            enPassantVulnerable = pawn;
+            enPassantColumn = column;
+        }
+
+        // Contadores
+        try {
+            halfMoveClock = (fields.length > 4) ? Integer.parseInt(fields[4]) : 0;
+            int fullMove = (fields.length > 5) ? Integer.parseInt(fields[5]) : 1;
+            if (halfMoveClock < 0 || fullMove < 1){
+                throw new NumberFormatException();
+            }
+            turn = 2 * fullMove - 1 + ((currentPlayer == Color.PRETO) ? 1 : 0);
+        }
+        catch (NumberFormatException e){
+            throw new ChessException("FEN inválida: contadores de lances '" + fen + "'");
         }
     }
 
-    private void validateSourcePosition(Position position){
-        if (!board.thereIsAPiece(position)){
+    private void validateSourcePosition(int source){
+        if (!board.thereIsAPiece(source)){
             throw new ChessException("Não há peça na posição de origem");
         }
-        if (currentPlayer != ((ChessPiece)board.piece(position)).getColor()){
+        if (currentPlayer != ((ChessPiece)board.piece(source)).getColor()){
             throw new ChessException("A peça escolhida não é sua");
         }
-        if (!board.piece(position).isThereAnyPossibleMove()){
+        if (legalTargets(source) == 0){
             throw new ChessException("Não existe movimentos possíveis para a peça escolhida");
         }
     }
 
-    private void validateTargetPosition(Position source, Position target){
-        if (!board.piece(source).possibleMove(target)){
+    private void validateTargetPosition(int source, int target){
+        if ((legalTargets(source) & 1L << target) == 0){
+            if (board.piece(source).possibleMove(target)){
+                throw new ChessException("Você não pode se colocar em xeque.");
+            }
             throw new ChessException("A peça escolhida não pode se mover para a posição de destino");
         }
     }
 
+    private void endTurn(){ //depois do lance de currentPlayer: xeque e xequemate no adversário, e a vez passa se não for mate
+        check = testCheck(opponent(currentPlayer));
+        checkMate = testCheckMate(opponent(currentPlayer));
+        if (!checkMate){
+            nextTurn();
+        }
+    }
+
     private void nextTurn() {
         turn++;
         currentPlayer = (currentPlayer == Color.BRANCO) ? Color.PRETO : Color.BRANCO;
+        zobristKey ^= Zobrist.BLACK_TO_MOVE;
+    }
+
+    private void previousTurn() {
+        turn--;
+        currentPlayer = opponent(currentPlayer);
+        zobristKey ^= Zobrist.BLACK_TO_MOVE;
+    }
+
+    private void setEnPassantVulnerable(ChessPiece piece){
+        if (enPassantColumn >= 0){ //o peão pode já ter sido capturado, por isso a coluna fica guardada
+            zobristKey ^= Zobrist.EN_PASSANT[enPassantColumn];
+        }
+        enPassantVulnerable = piece;
+        enPassantColumn = (piece == null) ? -1 : piece.square() & 7;
+        if (enPassantColumn >= 0){
+            zobristKey ^= Zobrist.EN_PASSANT[enPassantColumn];
+        }
+    }
+
+    private void placeOnBoard(Piece piece, int square){
+        board.placePiece(piece, square);
+        zobristKey ^= Zobrist.piece((ChessPiece)piece, square);
+        trackPiece((ChessPiece)piece, square, 1);
+    }
+
+    private Piece removeFromBoard(int square){
+        Piece piece = board.removePiece(square);
+        if (piece != null){
+            zobristKey ^= Zobrist.piece((ChessPiece)piece, square);
+            trackPiece((ChessPiece)piece, square, -1);
+        }
+        return piece;
+    }
+
+    // material, tabelas de casas, fase e chave dos peões de uma peça colocada (sign 1) ou retirada (sign -1)
+    private void trackPiece(ChessPiece piece, int square, int sign){
+        int i = piece.getColor().ordinal() * 6 + piece.getType().ordinal();
+        midgameScore += sign * PieceSquareTables.MIDGAME[i][square];
+        endgameScore += sign * PieceSquareTables.ENDGAME[i][square];
+        phase += sign * PieceSquareTables.PHASE[piece.getType().ordinal()];
+        if (piece.getType() == PieceType.PAWN){
+            pawnKey ^= Zobrist.piece(piece, square);
+        }
+    }
+
+    // sem o direito, o rei e as torres contam como já movidos; com ele, precisam estar nas casas iniciais
+    private void setCastlingRights(int rights){
+        for (Color color : Color.values()){
+            kings[color.ordinal()].setMoveCount(1);
+            int rooks = color.ordinal() * 6 + PieceType.ROOK.ordinal();
+            for (int j = 0; j < pieceCounts[rooks]; j++){
+                pieces[rooks][j].setMoveCount(1);
+            }
+        }
+        for (int right = Zobrist.WHITE_KINGSIDE; right <= Zobrist.BLACK_QUEENSIDE; right <<= 1){
+            if ((rights & right) == 0){
+                continue;
+            }
+            int row = (right <= Zobrist.WHITE_QUEENSIDE) ? 7 : 0;
+            int rookColumn = (right == Zobrist.WHITE_KINGSIDE || right == Zobrist.BLACK_KINGSIDE) ? 7 : 0;
+            ChessPiece king = (ChessPiece)board.piece(row, 4);
+            ChessPiece rook = (ChessPiece)board.piece(row, rookColumn);
+            Color color = (row == 7) ? Color.BRANCO : Color.PRETO;
+            if (!(king instanceof King) || !(rook instanceof Rook) || king.getColor() != color || rook.getColor() != color){
+                throw new ChessException("Direito de roque sem Rei e Torre nas casas iniciais");
+            }
+            king.setMoveCount(0);
+            rook.setMoveCount(0);
+        }
+    }
+
+    private int castlingRights(){ //derivados do moveCount do rei e das torres nas casas iniciais
+        int rights = 0;
+        if (canCastle(7, 4, 7)) rights |= Zobrist.WHITE_KINGSIDE;
+        if (canCastle(7, 4, 0)) rights |= Zobrist.WHITE_QUEENSIDE;
+        if (canCastle(0, 4, 7)) rights |= Zobrist.BLACK_KINGSIDE;
+        if (canCastle(0, 4, 0)) rights |= Zobrist.BLACK_QUEENSIDE;
+        return rights;
+    }
+
+    private boolean canCastle(int row, int kingColumn, int rookColumn){
+        ChessPiece king = (ChessPiece)board.piece(row, kingColumn);
+        ChessPiece rook = (ChessPiece)board.piece(row, rookColumn);
+        return king instanceof King && king.getMoveCount() == 0 && rook instanceof Rook && rook.getMoveCount() == 0
+                && rook.getColor() == king.getColor();
+    }
+
+    private long computeZobristKey(){ //chave calculada do zero, usada ao montar a posição
+        long key = 0L;
+        for (int i = 0; i < 12; i++){
+            for (int j = 0; j < pieceCounts[i]; j++){
+                key ^= Zobrist.PIECES[i][pieces[i][j].square()];
+            }
+        }
+        if (currentPlayer == Color.PRETO){
+            key ^= Zobrist.BLACK_TO_MOVE;
+        }
+        key ^= Zobrist.CASTLING[castlingRights()];
+        if (enPassantVulnerable != null){
+            key ^= Zobrist.EN_PASSANT[enPassantVulnerable.square() & 7];
+        }
+        return key;
+    }
+
+    private void publishSnapshot(){
+        snapshot = createSnapshot();
+    }
+
+    private PositionSnapshot createSnapshot(){
+        byte[] squares = new byte[64];
+        for (int i = 0; i < 12; i++){
+            for (int j = 0; j < pieceCounts[i]; j++){
+                squares[pieces[i][j].square()] = (byte)(i + 1);
+            }
+        }
+        int enPassantSquare = -1;
+        if (enPassantVulnerable != null){ //a casa que o peão pulou
+            int square = enPassantVulnerable.square();
+            enPassantSquare = (enPassantVulnerable.getColor() == Color.BRANCO) ? square + 8 : square - 8;
+        }
+        // no xequemate a vez não passa (getCurrentPlayer é quem venceu), mas a posição publicada, como a FEN,
+        // tem a vez de quem levou o mate, e a chave de acordo
+        if (checkMate){
+            return new PositionSnapshot(squares, opponent(currentPlayer), turn + 1, check, true, castlingRights(), enPassantSquare,
+                    halfMoveClock, zobristKey ^ Zobrist.BLACK_TO_MOVE);
+        }
+        return new PositionSnapshot(squares, currentPlayer, turn, check, checkMate, castlingRights(), enPassantSquare,
+                halfMoveClock, zobristKey);
+    }
+
+    private static void validateBoard(Board board){
+        if (board.getRows() != 8 || board.getColumns() != 8){
+            throw new ChessException("O tabuleiro de xadrez precisa ter 8 linhas e 8 colunas");
+        }
     }
 
     private Color opponent(Color color){
@@ -259,55 +964,74 @@ public class ChessMatch {
     }
 
     private ChessPiece king(Color color){
-        List<Piece> list = piecesOnTheBoard.stream().filter(x -> ((ChessPiece)x).getColor() == color).collect(Collectors.toList());
-        for (Piece p : list){
-            if (p instanceof King){
-                return (ChessPiece)p;
-            }
+        ChessPiece king = kings[color.ordinal()];
+        if (king == null){
+            throw new IllegalStateException("Não existe Rei da cor " + color + " no tabuleiro.");
         }
-        throw new IllegalStateException("Não existe Rei da cor " + color + " no tabuleiro.");
+        return king;
     }
 
     private boolean testCheck(Color color){
-        Position kingPosition = king(color).getChessPosition().toPosition();
-        List<Piece> opponentPieces = piecesOnTheBoard.stream().filter(x -> ((ChessPiece)x).getColor() == opponent(color)).collect(Collectors.toList());
-        for (Piece p : opponentPieces){
-            boolean[][] mat = p.possibleMoves();
-            if (mat[kingPosition.getRow()][kingPosition.getColumn()]){
-                return true;
-            }
+        return checkers(color) != 0;
+    }
+
+    private void invalidateAttacks(){
+        staleCheckers = 3;
+        stalePinned = 3;
+    }
+
+    private long checkers(Color color){
+        int bit = 1 << color.ordinal();
+        if ((staleCheckers & bit) != 0){
+            checkers[color.ordinal()] = attacks.attackers(king(color).square(), opponent(color));
+            staleCheckers &= ~bit;
         }
-        return false;
+        return checkers[color.ordinal()];
     }
 
-    private boolean testCheckMate(Color color){
-        if (!testCheck(color)){
-            return false;
-        }
-        List<Piece> list = piecesOnTheBoard.stream().filter(x -> ((ChessPiece)x).getColor() == color).collect(Collectors.toList());
-        for (Piece p : list){
-            boolean[][] mat = p.possibleMoves();
-            for (int i=0; i<board.getRows(); i++){
-                for (int j=0; j< board.getColumns(); j++){
-                    if (mat[i][j]){
-                        Position source = ((ChessPiece)p).getChessPosition().toPosition(); //necessário um downcasting para acessar o .toPosition
-                        Position target = new Position(i, j);
-                        Piece capturedPiece = makeMove(source, target); //faz movimentos possíveis
-                        boolean testCheck = testCheck(color); //testa se, mesmo após os movimentos ainda está em xeque
-                        undoMove(source, target, capturedPiece); //desfaz os movimentos para não confundir o programa
-                        if (!testCheck) { //se o teste retornar falso, existe algum movimento que desfaz o xeque, logo, não é xequemate
-                            return false;
-                        }
-                    }
-                }
-            }
+    private long pinned(Color color){
+        int bit = 1 << color.ordinal();
+        if ((stalePinned & bit) != 0){
+            pinned[color.ordinal()] = attacks.pinned(king(color).square(), color);
+            stalePinned &= ~bit;
         }
-        return true;
+        return pinned[color.ordinal()];
+    }
+
+    private boolean testCheckMate(Color color){
+        return testCheck(color) && legalMoves(color) == 0;
     }
 
     private void placeNewPiece(char column, int row, ChessPiece piece){
-        board.placePiece(piece, new ChessPosition(column, row).toPosition());
-        piecesOnTheBoard.add(piece);
+        placeNewPiece(piece, new ChessPosition(column, row).toSquare());
+    }
+
+    private void placeNewPiece(ChessPiece piece, int square){
+        board.placePiece(piece, square);
+        trackPiece(piece, square, 1);
+        addPiece(piece);
+    }
+
+    private void addPiece(ChessPiece piece){
+        int i = piece.getColor().ordinal() * 6 + piece.getType().ordinal();
+        if (pieceCounts[i] == pieces[i].length){ //só numa posição impossível vinda de FEN
+            pieces[i] = Arrays.copyOf(pieces[i], pieceCounts[i] * 2);
+        }
+        pieces[i][pieceCounts[i]++] = piece;
+        if (piece instanceof King){
+            kings[piece.getColor().ordinal()] = piece;
+        }
+    }
+
+    private void removePiece(ChessPiece piece){ //a última da lista ocupa o lugar da removida
+        int i = piece.getColor().ordinal() * 6 + piece.getType().ordinal();
+        for (int j = 0; j < pieceCounts[i]; j++){
+            if (pieces[i][j] == piece){
+                pieces[i][j] = pieces[i][--pieceCounts[i]];
+                pieces[i][pieceCounts[i]] = null;
+                return;
+            }
+        }
     }
     private void initialSetup() {
         placeNewPiece('a', 1, new Rook(board, Color.BRANCO));
@@ -0,0 +1,82 @@
+package chess;
+
+import boardGame.Move;
+
+public final class ChessMove {
+
+    // movimento de xadrez codificado com boardGame.Move; os bits livres guardam a peça da promoção (ordinal de PieceType, 0 = sem promoção)
+
+    private static final PieceType[] TYPES = PieceType.values();
+
+    private ChessMove() {
+    }
+
+    public static int encode(int source, int target) {
+        return Move.encode(source, target);
+    }
+
+    public static int encode(int source, int target, PieceType promotion) {
+        return Move.encode(source, target, promotion.ordinal());
+    }
+
+    public static int source(int move) {
+        return Move.source(move);
+    }
+
+    public static int target(int move) {
+        return Move.target(move);
+    }
+
+    public static PieceType pieceType(int ordinal) {
+        return TYPES[ordinal];
+    }
+
+    // 16 bits: origem e destino com 6 bits cada e a peça da promoção nos 3 bits seguintes
+    public static short pack(int move) {
+        return (short)(source(move) | target(move) << 6 | Move.flags(move) << 12);
+    }
+
+    public static int unpack(short packed) {
+        return Move.encode(packed & 63, (packed >> 6) & 63, (packed >> 12) & 7);
+    }
+
+    public static PieceType promotion(int move) {
+        int flags = Move.flags(move);
+        return (flags == 0) ? null : TYPES[flags];
+    }
+
+    public static int parse(String move) { //notação de coordenadas, ex: e2e4, e7e8q
+        if ((move.length() != 4 && move.length() != 5) || !isSquare(move, 0) || !isSquare(move, 2)) {
+            throw new ChessException("Movimento inválido: " + move);
+        }
+        int source = ('8' - move.charAt(1)) * 8 + (move.charAt(0) - 'a');
+        int target = ('8' - move.charAt(3)) * 8 + (move.charAt(2) - 'a');
+        if (move.length() == 4) {
+            return encode(source, target);
+        }
+        int type = "nbrq".indexOf(Character.toLowerCase(move.charAt(4)));
+        if (type < 0) {
+            throw new ChessException("Peça de promoção inválida: " + move);
+        }
+        return encode(source, target, TYPES[type + 1]);
+    }
+
+    private static boolean isSquare(String move, int index) {
+        char column = move.charAt(index);
+        char row = move.charAt(index + 1);
+        return column >= 'a' && column <= 'h' && row >= '1' && row <= '8';
+    }
+
+    public static String squareName(int square) {
+        return "" + (char)('a' + (square & 7)) + (8 - (square >> 3));
+    }
+
+    public static String toString(int move) { //notação de coordenadas, ex: e2e4, e7e8q
+        String s = squareName(source(move)) + squareName(target(move));
+        PieceType promotion = promotion(move);
+        if (promotion != null) {
+            s += "pnbrqk".charAt(promotion.ordinal());
+        }
+        return s;
+    }
+}
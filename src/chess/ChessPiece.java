@@ -1,22 +1,29 @@
 package chess;
 
 import boardGame.Board;
+import boardGame.Move;
 import boardGame.Piece;
 import boardGame.Position;
 
 public abstract class ChessPiece extends Piece {
     private Color color;
+    private PieceType type;
     private int moveCount; //inteiro por padrão começa com 0
 
-    public ChessPiece(Board board, Color color) {
+    public ChessPiece(Board board, Color color, PieceType type) {
         super(board);
         this.color = color;
+        this.type = type;
     }
 
     public Color getColor() {
         return color;
     }
 
+    public PieceType getType() {
+        return type;
+    }
+
     public void increaseMoveCount() {
         moveCount++;
     }
@@ -28,12 +35,79 @@ public abstract class ChessPiece extends Piece {
         return moveCount;
     }
 
+    void setMoveCount(int moveCount) {
+        this.moveCount = moveCount;
+    }
+
+    public int getSquare(){ //casa de 0 a 63 (linha * 8 + coluna), -1 fora do tabuleiro
+        return square;
+    }
+
+    protected int square(){
+        return square;
+    }
+
     public ChessPosition getChessPosition(){
-        return ChessPosition.fromPosition(position);
+        return ChessPosition.fromSquare(square);
     }
 
     protected boolean isThereOpponentPiece(Position position){
         ChessPiece p = (ChessPiece) getBoard().piece(position);
         return p != null && p.getColor() != color; //verificar se a peça é de uma cor diferente
     }
+
+    protected boolean isThereOpponentPiece(int row, int column){
+        ChessPiece p = (ChessPiece) getBoard().piece(row, column);
+        return p != null && p.getColor() != color;
+    }
+
+    // destinos de torre (direções 0-3 de AttackTables) ou de bispo (4-7): com BitboardBoard, por consulta às tabelas
+    // mágicas; senão, percorrendo os raios pré-calculados até a primeira peça
+    protected int slide(int[] moves, int count, boolean diagonal){
+        int source = square();
+        if (getBoard() instanceof BitboardBoard){
+            BitboardBoard bitboards = (BitboardBoard)getBoard();
+            long occupied = bitboards.getOccupancy();
+            long attacks = diagonal ? MagicBitboards.bishopAttacks(source, occupied) : MagicBitboards.rookAttacks(source, occupied);
+            return encode(moves, count, source, attacks & ~bitboards.getOccupancy(color));
+        }
+        for (int d = diagonal ? 4 : 0, end = d + 4; d < end; d++){
+            for (int target : AttackTables.RAYS[source][d]){
+                ChessPiece p = (ChessPiece)getBoard().piece(target);
+                if (p == null || p.color != color){
+                    moves[count++] = Move.encode(source, target);
+                }
+                if (p != null){
+                    break;
+                }
+            }
+        }
+        return count;
+    }
+
+    // saltos de uma tabela de AttackTables (rei e cavalo), sem as casas das próprias peças
+    protected int jump(int[] moves, int count, long[] table){
+        int source = square();
+        long targets = table[source];
+        if (getBoard() instanceof BitboardBoard){
+            return encode(moves, count, source, targets & ~((BitboardBoard)getBoard()).getOccupancy(color));
+        }
+        while (targets != 0){
+            int target = Long.numberOfTrailingZeros(targets);
+            targets &= targets - 1;
+            ChessPiece p = (ChessPiece)getBoard().piece(target);
+            if (p == null || p.color != color){
+                moves[count++] = Move.encode(source, target);
+            }
+        }
+        return count;
+    }
+
+    private static int encode(int[] moves, int count, int source, long targets){
+        while (targets != 0){
+            moves[count++] = Move.encode(source, Long.numberOfTrailingZeros(targets));
+            targets &= targets - 1;
+        }
+        return count;
+    }
 }
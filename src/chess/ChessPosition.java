@@ -29,6 +29,14 @@ public class ChessPosition {
     protected static ChessPosition fromPosition(Position position) {
         return new ChessPosition((char)('a' + position.getColumn()), 8 - position.getRow());
     }
+
+    public int toSquare(){ //casa de 0 a 63 (linha * 8 + coluna, linha 0 = fileira 8)
+        return (8 - row) * 8 + (column - 'a');
+    }
+
+    public static ChessPosition fromSquare(int square) {
+        return new ChessPosition((char)('a' + (square & 7)), 8 - (square >> 3));
+    }
     @Override
     public String toString() {
         return "" + column + row; //O string vazio é para forçar o compilador a entender que é uma concatenação de strings
@@ -0,0 +1,77 @@
+package chess;
+
+public final class HibernatedMatch {
+
+    // partida parada guardada em poucos bytes: a posição empacotada e a lista de lances em 16 bits (ChessMove.pack);
+    // volta a ser uma ChessMatch com rehydrate()
+    // posição: 32 bytes com uma casa por nibble (cor * 6 + tipo + 1, 0 se vazia; casa par no nibble baixo),
+    // um byte de flags com os direitos de roque nos 4 bits altos, coluna de en passant + 1, regra dos 50 lances e o turno em 2 bytes
+    static final int FLAGS = 32;
+    static final int EN_PASSANT = 33;
+    static final int HALF_MOVE_CLOCK = 34;
+    static final int TURN = 35;
+    static final int POSITION_BYTES = 37;
+
+    static final int BLACK_TO_MOVE = 1;
+    static final int CHECK = 2;
+    static final int CHECK_MATE = 4;
+    static final int BITBOARD = 8;
+
+    final byte[] position;
+    final short[] moves;
+
+    HibernatedMatch(byte[] position, short[] moves) {
+        this.position = position;
+        this.moves = moves;
+    }
+
+    public ChessMatch rehydrate() {
+        return new ChessMatch(this);
+    }
+
+    public int getMoveCount() {
+        return moves.length;
+    }
+
+    public int getMove(int index) { //no formato de ChessMove
+        return ChessMove.unpack(moves[index]);
+    }
+
+    public int getSizeInBytes() { //só os dados, sem os cabeçalhos dos objetos
+        return position.length + moves.length * 2;
+    }
+
+    // lê a posição sem reidratar a partida
+    public PositionSnapshot getSnapshot() {
+        byte[] squares = new byte[64];
+        long key = 0L;
+        for (int square = 0; square < 64; square++) {
+            int code = (position[square >> 1] >> ((square & 1) * 4)) & 15;
+            squares[square] = (byte)code;
+            if (code != 0) {
+                key ^= Zobrist.PIECES[code - 1][square];
+            }
+        }
+        int flags = position[FLAGS] & 0xFF;
+        Color currentPlayer = ((flags & BLACK_TO_MOVE) != 0) ? Color.PRETO : Color.BRANCO;
+        if (currentPlayer == Color.PRETO) {
+            key ^= Zobrist.BLACK_TO_MOVE;
+        }
+        int castlingRights = flags >> 4;
+        key ^= Zobrist.CASTLING[castlingRights];
+        int enPassantSquare = -1;
+        if (position[EN_PASSANT] != 0) {
+            int column = position[EN_PASSANT] - 1;
+            key ^= Zobrist.EN_PASSANT[column];
+            enPassantSquare = ((currentPlayer == Color.BRANCO) ? 2 : 5) * 8 + column;
+        }
+        int turn = (position[TURN] & 0xFF) | (position[TURN + 1] & 0xFF) << 8;
+        return new PositionSnapshot(squares, currentPlayer, turn, (flags & CHECK) != 0, (flags & CHECK_MATE) != 0,
+                castlingRights, enPassantSquare, position[HALF_MOVE_CLOCK] & 0xFF, key);
+    }
+
+    @Override
+    public String toString() {
+        return getSnapshot().toFen();
+    }
+}
@@ -0,0 +1,190 @@
+package chess;
+
+import java.util.SplittableRandom;
+
+public final class MagicBitboards {
+
+    // ataques de torre e bispo por consulta a tabela: as casas relevantes ocupadas (sem as bordas) multiplicadas pelo
+    // número mágico da casa dão, nos bits altos, o índice da máscara de ataques já calculada para aquela ocupação
+    // os números mágicos foram achados por findMagic com a semente fixa abaixo (main --buscar refaz a busca); procurá-los
+    // na carga da classe levava ~450 ms, com eles prontos a carga só preenche as tabelas
+    private static final long SEED = 0x43485353L;
+
+    private static final long[] ROOK_MAGICS = {
+            0x5080008040001C20L, 0x1040004020001008L, 0x18800A1000822000L, 0x0080080010008006L,
+            0x0200040802012010L, 0x2200080200500104L, 0x4280050002000080L, 0x0100020080402100L,
+            0x000080024004B580L, 0xE100400020005001L, 0x0502802001801004L, 0x2000808010000800L,
+            0x38A1000801000412L, 0x840A000408820010L, 0x0001000402000100L, 0x0001002881001042L,
+            0x4040048000448028L, 0x5410004000402004L, 0x0002020020108048L, 0x0000848008009000L,
+            0x4020110008010004L, 0x0400080104204010L, 0x1080040002308118L, 0x2002520005470084L,
+            0xA140036280004096L, 0x00C0810100204001L, 0x0430002020040802L, 0x0001010900209000L,
+            0x0010110100080004L, 0x1002000200100408L, 0x9111000100020004L, 0x24482C0200005481L,
+            0xA080008101002042L, 0x8002402001401000L, 0x0000900081802000L, 0x2130001009002300L,
+            0x8001801401801800L, 0x2002040080800200L, 0x2000010204000810L, 0x0060008102000064L,
+            0x1060400080208000L, 0x80035000A0024000L, 0x0020004100210010L, 0x3600090010010020L,
+            0x1088000804008080L, 0x0014000402008080L, 0x0000104802840021L, 0x000B002888410002L,
+            0x0020800040002080L, 0xC0200020401000C0L, 0x00041040208A0200L, 0x0004100009002500L,
+            0x4001080100051100L, 0x48A0020080040080L, 0x0028900201080400L, 0x00A0040441148200L,
+            0x0210815101A20046L, 0x0440410200102082L, 0x1011510018A00241L, 0x0000050010002009L,
+            0x8005000208000411L, 0x4101000204000803L, 0x7400020088011004L, 0x20000C0021004082L
+    };
+    private static final long[] BISHOP_MAGICS = {
+            0x00C0020800408080L, 0x03020881040C8010L, 0x0422008102021000L, 0x0011040080044001L,
+            0x0012021100044804L, 0x4082482004000000L, 0x840600D008080010L, 0x10A0110410340440L,
+            0x0264680801240C0AL, 0x2000020214040091L, 0x008010A112022040L, 0x20042404008E0100L,
+            0x0040040421088800L, 0x01002202110426A0L, 0x2018020101201104L, 0x002000804812101BL,
+            0x8822800404900209L, 0x1048001081010420L, 0x0028240106440080L, 0x2204001209220000L,
+            0x0044000210220482L, 0x2000800100600200L, 0x0952032409240288L, 0x4C02100100808400L,
+            0x0020D00004D02200L, 0x20100295D0040108L, 0x1008022024040210L, 0x04A8104008004100L,
+            0x0421010084104005L, 0x4190004002080202L, 0x6024004020880420L, 0x0004010006248204L,
+            0x0042322010400840L, 0x0148020800912100L, 0x0A04021100920402L, 0xC040020080480082L,
+            0x8200410040040040L, 0x0020081040008060L, 0x502200A922040400L, 0x0208055040038600L,
+            0x1410900888002000L, 0x00C1080104005000L, 0x0000108401021000L, 0x4000404010400A05L,
+            0x3040880104000040L, 0xD804010041008200L, 0x201002020C000060L, 0x0050820098200900L,
+            0x000406020A622002L, 0x0001820861040800L, 0x0004420225240000L, 0x008004044202060CL,
+            0x0680000420822068L, 0x090248D150008200L, 0x14200481022402C0L, 0x528802080E2020C0L,
+            0x01020100880402AAL, 0x001184844802306CL, 0x8209000104014400L, 0x0000200822A08840L,
+            0x400A080010202200L, 0x000010600C898200L, 0x4001921012480040L, 0x1004202084051040L
+    };
+
+    private static final long[] ROOK_MASKS = new long[64];
+    private static final int[] ROOK_SHIFTS = new int[64];
+    private static final int[] ROOK_OFFSETS = new int[64];
+    private static final long[] BISHOP_MASKS = new long[64];
+    private static final int[] BISHOP_SHIFTS = new int[64];
+    private static final int[] BISHOP_OFFSETS = new int[64];
+    private static final long[] ATTACKS; //torres nas primeiras 102400 entradas, bispos nas 5248 seguintes
+
+    static final long INIT_NANOS; //tempo gasto montando as tabelas
+
+    static {
+        long start = System.nanoTime();
+        int size = 0;
+        for (int square = 0; square < 64; square++) {
+            ROOK_MASKS[square] = relevantSquares(square, 0, 4);
+            ROOK_SHIFTS[square] = 64 - Long.bitCount(ROOK_MASKS[square]);
+            ROOK_OFFSETS[square] = size;
+            size += 1 << Long.bitCount(ROOK_MASKS[square]);
+        }
+        for (int square = 0; square < 64; square++) {
+            BISHOP_MASKS[square] = relevantSquares(square, 4, 8);
+            BISHOP_SHIFTS[square] = 64 - Long.bitCount(BISHOP_MASKS[square]);
+            BISHOP_OFFSETS[square] = size;
+            size += 1 << Long.bitCount(BISHOP_MASKS[square]);
+        }
+        ATTACKS = new long[size];
+        for (int square = 0; square < 64; square++) {
+            if (!fill(square, ROOK_MASKS[square], ROOK_MAGICS[square], ROOK_SHIFTS[square], ROOK_OFFSETS[square], 0, 4, new int[1 << 12], 1)
+                    || !fill(square, BISHOP_MASKS[square], BISHOP_MAGICS[square], BISHOP_SHIFTS[square], BISHOP_OFFSETS[square], 4, 8, new int[1 << 9], 1)) {
+                throw new IllegalStateException("Número mágico inválido na casa " + square);
+            }
+        }
+        INIT_NANOS = System.nanoTime() - start;
+    }
+
+    private MagicBitboards() {
+    }
+
+    public static long rookAttacks(int square, long occupied) {
+        return ATTACKS[ROOK_OFFSETS[square] + (int)(((occupied & ROOK_MASKS[square]) * ROOK_MAGICS[square]) >>> ROOK_SHIFTS[square])];
+    }
+
+    public static long bishopAttacks(int square, long occupied) {
+        return ATTACKS[BISHOP_OFFSETS[square] + (int)(((occupied & BISHOP_MASKS[square]) * BISHOP_MAGICS[square]) >>> BISHOP_SHIFTS[square])];
+    }
+
+    public static long queenAttacks(int square, long occupied) {
+        return rookAttacks(square, occupied) | bishopAttacks(square, occupied);
+    }
+
+    public static int getTableSizeInBytes() {
+        return ATTACKS.length * 8 + 64 * 2 * (8 + 8 + 4 + 4);
+    }
+
+    // casas dos raios (direções de AttackTables) cuja ocupação muda o ataque: a última casa de cada raio nunca muda
+    private static long relevantSquares(int square, int firstDirection, int lastDirection) {
+        long mask = 0L;
+        for (int d = firstDirection; d < lastDirection; d++) {
+            int[] ray = AttackTables.RAYS[square][d];
+            for (int i = 0; i < ray.length - 1; i++) {
+                mask |= 1L << ray[i];
+            }
+        }
+        return mask;
+    }
+
+    private static long slowAttacks(int square, long occupied, int firstDirection, int lastDirection) {
+        long attacks = 0L;
+        for (int d = firstDirection; d < lastDirection; d++) {
+            for (int target : AttackTables.RAYS[square][d]) {
+                attacks |= 1L << target;
+                if ((occupied & 1L << target) != 0) {
+                    break;
+                }
+            }
+        }
+        return attacks;
+    }
+
+    // escreve na tabela os ataques de cada ocupação da máscara; falha se duas ocupações com ataques diferentes caem
+    // no mesmo índice. 'used' guarda a tentativa que ocupou cada índice, para não limpar a tabela a cada número testado
+    private static boolean fill(int square, long mask, long magic, int shift, int offset, int firstDirection, int lastDirection,
+                                int[] used, int attempt) {
+        long occupied = 0L;
+        do { //todos os subconjuntos da máscara
+            long attacks = slowAttacks(square, occupied, firstDirection, lastDirection);
+            int index = (int)((occupied * magic) >>> shift);
+            if (used[index] != attempt) {
+                used[index] = attempt;
+                ATTACKS[offset + index] = attacks;
+            }
+            else if (ATTACKS[offset + index] != attacks) {
+                return false;
+            }
+            occupied = (occupied - mask) & mask;
+        } while (occupied != 0);
+        return true;
+    }
+
+    // tenta números aleatórios com poucos bits até um deles preencher a tabela sem colisão
+    private static long findMagic(int square, long mask, int shift, int offset, int firstDirection, int lastDirection,
+                                  SplittableRandom random) {
+        int[] used = new int[1 << Long.bitCount(mask)];
+        for (int attempt = 1; ; attempt++) {
+            long magic = random.nextLong() & random.nextLong() & random.nextLong();
+            if (Long.bitCount((mask * magic) & 0xFF00000000000000L) < 6) {
+                continue;
+            }
+            if (fill(square, mask, magic, shift, offset, firstDirection, lastDirection, used, attempt)) {
+                return magic;
+            }
+        }
+    }
+
+    // mede a montagem das tabelas e confere cada consulta contra os raios percorridos casa a casa;
+    // com --buscar, refaz a busca dos números mágicos e imprime o tempo dela
+    public static void main(String[] args) {
+        if (args.length > 0 && args[0].equals("--buscar")) {
+            long start = System.nanoTime();
+            SplittableRandom search = new SplittableRandom(SEED);
+            for (int square = 0; square < 64; square++) {
+                if (findMagic(square, ROOK_MASKS[square], ROOK_SHIFTS[square], ROOK_OFFSETS[square], 0, 4, search) != ROOK_MAGICS[square]
+                        | findMagic(square, BISHOP_MASKS[square], BISHOP_SHIFTS[square], BISHOP_OFFSETS[square], 4, 8, search) != BISHOP_MAGICS[square]) {
+                    System.out.println("Casa " + square + ": a busca achou outro número mágico");
+                }
+            }
+            System.out.printf("Busca dos números mágicos: %.1f ms%n", (System.nanoTime() - start) / 1e6);
+        }
+        SplittableRandom random = new SplittableRandom(1);
+        for (int i = 0; i < 1_000_000; i++) {
+            int square = random.nextInt(64);
+            long occupied = random.nextLong() & random.nextLong();
+            if (rookAttacks(square, occupied) != slowAttacks(square, occupied, 0, 4)
+                    || bishopAttacks(square, occupied) != slowAttacks(square, occupied, 4, 8)) {
+                throw new IllegalStateException("Tabela mágica errada na casa " + square);
+            }
+        }
+        System.out.printf("Tabelas mágicas: %d entradas, %d KB, montadas em %.1f ms%n",
+                ATTACKS.length, getTableSizeInBytes() / 1024, INIT_NANOS / 1e6);
+    }
+}
@@ -0,0 +1,29 @@
+package chess;
+
+import boardGame.Piece;
+
+class MoveRecord {
+
+    // estado anterior a um movimento, suficiente para desfazê-lo
+    int move;
+    ChessPiece movedPiece;
+    Piece capturedPiece;
+    ChessPiece enPassantVulnerable;
+    ChessPiece promoted;
+    boolean check;
+    boolean checkMate;
+    int turn;
+    int halfMoveClock;
+    Color currentPlayer;
+    long zobristKey;
+
+    // estado depois do movimento, preenchido ao desfazê-lo, para redo
+    ChessPiece placedPiece; //a peça promovida, ou a própria movedPiece
+    ChessPiece enPassantAfter;
+    ChessPiece promotedAfter;
+    boolean checkAfter;
+    boolean checkMateAfter;
+    int turnAfter;
+    Color currentPlayerAfter;
+    long zobristKeyAfter;
+}
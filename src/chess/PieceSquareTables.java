@@ -0,0 +1,112 @@
+package chess;
+
+public final class PieceSquareTables {
+
+    // valor de cada peça em cada casa, já com o material, para o meio-jogo e para o final; [cor * 6 + tipo][casa]
+    // as tabelas abaixo estão do ponto de vista das brancas, com a casa 0 em a8 (igual a Position); as pretas usam o espelho
+    // os valores das pretas são negativos, para a soma dar direto brancas menos pretas
+    public static final int[] MATERIAL = {100, 320, 330, 500, 900, 0}; //na ordem de PieceType
+    public static final int[] PHASE = {0, 1, 1, 2, 4, 0}; //peso de cada peça na fase do jogo
+    public static final int MAX_PHASE = 24; //todas as peças menos peões e reis: meio-jogo puro
+
+    static final int[][] MIDGAME = new int[12][64];
+    static final int[][] ENDGAME = new int[12][64];
+
+    private static final int[] PAWN = {
+             0,   0,   0,   0,   0,   0,   0,   0,
+            50,  50,  50,  50,  50,  50,  50,  50,
+            10,  10,  20,  30,  30,  20,  10,  10,
+             5,   5,  10,  25,  25,  10,   5,   5,
+             0,   0,   0,  20,  20,   0,   0,   0,
+             5,  -5, -10,   0,   0, -10,  -5,   5,
+             5,  10,  10, -20, -20,  10,  10,   5,
+             0,   0,   0,   0,   0,   0,   0,   0};
+
+    private static final int[] PAWN_ENDGAME = { //no final vale mais avançar do que ocupar o centro
+             0,   0,   0,   0,   0,   0,   0,   0,
+            80,  80,  80,  80,  80,  80,  80,  80,
+            50,  50,  50,  50,  50,  50,  50,  50,
+            30,  30,  30,  30,  30,  30,  30,  30,
+            15,  15,  15,  15,  15,  15,  15,  15,
+             5,   5,   5,   5,   5,   5,   5,   5,
+             0,   0,   0,   0,   0,   0,   0,   0,
+             0,   0,   0,   0,   0,   0,   0,   0};
+
+    private static final int[] KNIGHT = {
+           -50, -40, -30, -30, -30, -30, -40, -50,
+           -40, -20,   0,   0,   0,   0, -20, -40,
+           -30,   0,  10,  15,  15,  10,   0, -30,
+           -30,   5,  15,  20,  20,  15,   5, -30,
+           -30,   0,  15,  20,  20,  15,   0, -30,
+           -30,   5,  10,  15,  15,  10,   5, -30,
+           -40, -20,   0,   5,   5,   0, -20, -40,
+           -50, -40, -30, -30, -30, -30, -40, -50};
+
+    private static final int[] BISHOP = {
+           -20, -10, -10, -10, -10, -10, -10, -20,
+           -10,   0,   0,   0,   0,   0,   0, -10,
+           -10,   0,   5,  10,  10,   5,   0, -10,
+           -10,   5,   5,  10,  10,   5,   5, -10,
+           -10,   0,  10,  10,  10,  10,   0, -10,
+           -10,  10,  10,  10,  10,  10,  10, -10,
+           -10,   5,   0,   0,   0,   0,   5, -10,
+           -20, -10, -10, -10, -10, -10, -10, -20};
+
+    private static final int[] ROOK = {
+             0,   0,   0,   0,   0,   0,   0,   0,
+             5,  10,  10,  10,  10,  10,  10,   5,
+            -5,   0,   0,   0,   0,   0,   0,  -5,
+            -5,   0,   0,   0,   0,   0,   0,  -5,
+            -5,   0,   0,   0,   0,   0,   0,  -5,
+            -5,   0,   0,   0,   0,   0,   0,  -5,
+            -5,   0,   0,   0,   0,   0,   0,  -5,
+             0,   0,   0,   5,   5,   0,   0,   0};
+
+    private static final int[] QUEEN = {
+           -20, -10, -10,  -5,  -5, -10, -10, -20,
+           -10,   0,   0,   0,   0,   0,   0, -10,
+           -10,   0,   5,   5,   5,   5,   0, -10,
+            -5,   0,   5,   5,   5,   5,   0,  -5,
+             0,   0,   5,   5,   5,   5,   0,  -5,
+           -10,   5,   5,   5,   5,   5,   0, -10,
+           -10,   0,   5,   0,   0,   0,   0, -10,
+           -20, -10, -10,  -5,  -5, -10, -10, -20};
+
+    private static final int[] KING = { //no meio-jogo, o rei fica atrás dos peões, de preferência rocado
+           -30, -40, -40, -50, -50, -40, -40, -30,
+           -30, -40, -40, -50, -50, -40, -40, -30,
+           -30, -40, -40, -50, -50, -40, -40, -30,
+           -30, -40, -40, -50, -50, -40, -40, -30,
+           -20, -30, -30, -40, -40, -30, -30, -20,
+           -10, -20, -20, -20, -20, -20, -20, -10,
+            20,  20,   0,   0,   0,   0,  20,  20,
+            20,  30,  10,   0,   0,  10,  30,  20};
+
+    private static final int[] KING_ENDGAME = { //no final, o rei vai para o centro
+           -50, -40, -30, -20, -20, -30, -40, -50,
+           -30, -20, -10,   0,   0, -10, -20, -30,
+           -30, -10,  20,  30,  30,  20, -10, -30,
+           -30, -10,  30,  40,  40,  30, -10, -30,
+           -30, -10,  30,  40,  40,  30, -10, -30,
+           -30, -10,  20,  30,  30,  20, -10, -30,
+           -30, -30,   0,   0,   0,   0, -30, -30,
+           -50, -30, -30, -30, -30, -30, -30, -50};
+
+    static {
+        int[][] midgame = {PAWN, KNIGHT, BISHOP, ROOK, QUEEN, KING};
+        int[][] endgame = {PAWN_ENDGAME, KNIGHT, BISHOP, ROOK, QUEEN, KING_ENDGAME};
+        for (int type = 0; type < 6; type++) {
+            for (int square = 0; square < 64; square++) {
+                int white = Color.BRANCO.ordinal() * 6 + type;
+                int black = Color.PRETO.ordinal() * 6 + type;
+                MIDGAME[white][square] = MATERIAL[type] + midgame[type][square];
+                ENDGAME[white][square] = MATERIAL[type] + endgame[type][square];
+                MIDGAME[black][square ^ 56] = -MIDGAME[white][square]; //a mesma casa vista do outro lado
+                ENDGAME[black][square ^ 56] = -ENDGAME[white][square];
+            }
+        }
+    }
+
+    private PieceSquareTables() {
+    }
+}
@@ -0,0 +1,126 @@
+package chess;
+
+public final class PositionSnapshot {
+
+    // cópia imutável de uma posição, publicada pela ChessMatch depois de cada lance; pode ser lida por várias threads sem trava
+    // cada casa (linha * 8 + coluna) guarda 0 se vazia ou cor * 6 + tipo + 1, com os ordinais de Color e PieceType
+    private static final Color[] COLORS = Color.values();
+    private static final PieceType[] TYPES = PieceType.values();
+    private static final String FEN_PIECES = "pnbrqk";
+
+    private final byte[] squares;
+    private final Color currentPlayer;
+    private final int turn;
+    private final boolean check;
+    private final boolean checkMate;
+    private final int castlingRights; //bits de Zobrist.WHITE_KINGSIDE etc.
+    private final int enPassantSquare; //casa que o peão pulou, ou -1
+    private final int halfMoveClock;
+    private final long zobristKey;
+
+    PositionSnapshot(byte[] squares, Color currentPlayer, int turn, boolean check, boolean checkMate, int castlingRights,
+                     int enPassantSquare, int halfMoveClock, long zobristKey) {
+        this.squares = squares;
+        this.currentPlayer = currentPlayer;
+        this.turn = turn;
+        this.check = check;
+        this.checkMate = checkMate;
+        this.castlingRights = castlingRights;
+        this.enPassantSquare = enPassantSquare;
+        this.halfMoveClock = halfMoveClock;
+        this.zobristKey = zobristKey;
+    }
+
+    public boolean isEmpty(int square) {
+        return squares[square] == 0;
+    }
+
+    public PieceType getType(int square) { //null se a casa estiver vazia
+        return (squares[square] == 0) ? null : TYPES[(squares[square] - 1) % 6];
+    }
+
+    public Color getColor(int square) {
+        return (squares[square] == 0) ? null : COLORS[(squares[square] - 1) / 6];
+    }
+
+    public char getSymbol(int square) { //letra da peça como na FEN: maiúscula para as brancas, '-' se vazia
+        if (squares[square] == 0) {
+            return '-';
+        }
+        char c = FEN_PIECES.charAt((squares[square] - 1) % 6);
+        return (getColor(square) == Color.BRANCO) ? Character.toUpperCase(c) : c;
+    }
+
+    public Color getCurrentPlayer() {
+        return currentPlayer;
+    }
+
+    public int getTurn() {
+        return turn;
+    }
+
+    public boolean getCheck() {
+        return check;
+    }
+
+    public boolean getCheckMate() {
+        return checkMate;
+    }
+
+    public int getCastlingRights() {
+        return castlingRights;
+    }
+
+    public int getEnPassantSquare() {
+        return enPassantSquare;
+    }
+
+    public int getHalfMoveClock() {
+        return halfMoveClock;
+    }
+
+    public long getZobristKey() {
+        return zobristKey;
+    }
+
+    public String toFen() {
+        StringBuilder sb = new StringBuilder();
+        for (int row = 0; row < 8; row++) {
+            int empty = 0;
+            for (int column = 0; column < 8; column++) {
+                int square = row * 8 + column;
+                if (squares[square] == 0) {
+                    empty++;
+                    continue;
+                }
+                if (empty > 0) {
+                    sb.append(empty);
+                    empty = 0;
+                }
+                sb.append(getSymbol(square));
+            }
+            if (empty > 0) {
+                sb.append(empty);
+            }
+            if (row < 7) {
+                sb.append('/');
+            }
+        }
+        sb.append(currentPlayer == Color.BRANCO ? " w " : " b ");
+
+        if ((castlingRights & Zobrist.WHITE_KINGSIDE) != 0) sb.append('K');
+        if ((castlingRights & Zobrist.WHITE_QUEENSIDE) != 0) sb.append('Q');
+        if ((castlingRights & Zobrist.BLACK_KINGSIDE) != 0) sb.append('k');
+        if ((castlingRights & Zobrist.BLACK_QUEENSIDE) != 0) sb.append('q');
+        if (castlingRights == 0) sb.append('-');
+
+        sb.append(' ').append((enPassantSquare < 0) ? "-" : ChessMove.squareName(enPassantSquare));
+        sb.append(' ').append(halfMoveClock).append(' ').append((turn + 1) / 2);
+        return sb.toString();
+    }
+
+    @Override
+    public String toString() {
+        return toFen();
+    }
+}
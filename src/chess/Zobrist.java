@@ -0,0 +1,40 @@
+package chess;
+
+import java.util.SplittableRandom;
+
+public final class Zobrist {
+
+    // números aleatórios fixos (semente constante) para que a mesma posição tenha sempre a mesma chave
+    static final long[][] PIECES = new long[12][64]; //[cor * 6 + tipo][casa]
+    static final long BLACK_TO_MOVE;
+    static final long[] CASTLING = new long[16]; //[direitos de roque, 4 bits]
+    static final long[] EN_PASSANT = new long[8]; //[coluna]
+
+    static final int WHITE_KINGSIDE = 1;
+    static final int WHITE_QUEENSIDE = 2;
+    static final int BLACK_KINGSIDE = 4;
+    static final int BLACK_QUEENSIDE = 8;
+
+    static {
+        SplittableRandom random = new SplittableRandom(0x5EED_C4E55L);
+        for (long[] piece : PIECES) {
+            for (int square = 0; square < 64; square++) {
+                piece[square] = random.nextLong();
+            }
+        }
+        BLACK_TO_MOVE = random.nextLong();
+        for (int i = 1; i < 16; i++) {
+            CASTLING[i] = random.nextLong();
+        }
+        for (int i = 0; i < 8; i++) {
+            EN_PASSANT[i] = random.nextLong();
+        }
+    }
+
+    private Zobrist() {
+    }
+
+    static long piece(ChessPiece piece, int square) {
+        return PIECES[piece.getColor().ordinal() * 6 + piece.getType().ordinal()][square];
+    }
+}
@@ -0,0 +1,24 @@
+package chess.archive;
+
+import chess.ChessException;
+import chess.ChessMove;
+import chess.PieceType;
+
+public final class BinaryMove {
+
+    // lance em 16 bits: bits 0-5 origem, 6-11 destino, 12-14 peça da promoção (ordinal de PieceType, 0 = sem promoção)
+
+    private BinaryMove() {
+    }
+
+    public static short pack(int move) {
+        return ChessMove.pack(move);
+    }
+
+    public static int unpack(short code) {
+        if (((code >> 12) & 7) > PieceType.QUEEN.ordinal()) {
+            throw new ChessException("Código de lance inválido: " + code);
+        }
+        return ChessMove.unpack(code);
+    }
+}
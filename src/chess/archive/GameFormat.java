@@ -0,0 +1,11 @@
+package chess.archive;
+
+public enum GameFormat {
+
+    // 2 bytes por lance (origem, destino e promoção); a reprodução aplica os lances direto com makeMove
+    MOVE16,
+
+    // 1 byte por lance: a posição do lance na lista de movimentos legais em ordem crescente de código;
+    // mais compacto, e a reprodução valida cada lance, mas precisa gerar os movimentos legais a cada lance
+    LEGAL_INDEX
+}
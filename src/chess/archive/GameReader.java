@@ -0,0 +1,172 @@
+package chess.archive;
+
+import chess.ChessException;
+import chess.ChessMatch;
+import chess.ChessMove;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
+
+public class GameReader implements Closeable {
+
+    // lê as partidas gravadas por GameWriter, uma de cada vez, entregando os lances no formato de ChessMove
+    private static final GameFormat[] FORMATS = GameFormat.values();
+
+    private DataInputStream in;
+    private GameFormat format;
+    private int[] moves = new int[256];
+    private int moveCount;
+    private String result;
+    private String fen;
+    private ChessMatch match;
+    private int[] legalMoves = new int[256];
+    private long games; //partidas lidas, para indicar nos erros qual partida está corrompida
+
+    public GameReader(InputStream in) throws IOException {
+        this.in = new DataInputStream(new BufferedInputStream(in, 1 << 16));
+        if (this.in.readInt() != GameWriter.MAGIC || this.in.readUnsignedByte() != GameWriter.VERSION) {
+            throw new IOException("O arquivo não é um arquivo de partidas desta versão");
+        }
+        int format = this.in.readUnsignedByte();
+        if (format >= FORMATS.length) {
+            throw new IOException("Formato de lances desconhecido: " + format);
+        }
+        this.format = FORMATS[format];
+    }
+
+    public GameFormat getFormat() {
+        return format;
+    }
+
+    public int getMoveCount() {
+        return moveCount;
+    }
+
+    public int getMove(int index) {
+        return moves[index];
+    }
+
+    public String getResult() {
+        return result;
+    }
+
+    public String getFen() { //posição inicial da partida, ou null para a posição padrão
+        return fen;
+    }
+
+    // avança para a próxima partida; retorna false no fim do arquivo
+    public boolean next() throws IOException {
+        int flags = in.read();
+        if (flags < 0) {
+            return false;
+        }
+        games++;
+        result = GameWriter.RESULTS[flags & 3];
+        fen = ((flags & GameWriter.HAS_FEN) != 0) ? in.readUTF() : null;
+        moveCount = readVarInt();
+        if (moveCount < 0 || moveCount > GameWriter.MAX_MOVES) { //checado antes de aumentar o buffer com um valor corrompido
+            throw new IOException("Partida " + games + " com número de lances inválido: " + moveCount);
+        }
+        if (moves.length < moveCount) {
+            moves = Arrays.copyOf(moves, moveCount);
+        }
+        match = null;
+        if (format == GameFormat.MOVE16) {
+            for (int i = 0; i < moveCount; i++) {
+                moves[i] = BinaryMove.unpack(in.readShort());
+            }
+        }
+        else { //o índice só faz sentido na posição em que o lance foi jogado, então a partida é reproduzida aqui
+            match = newMatch();
+            for (int i = 0; i < moveCount; i++) {
+                int legalCount = GameWriter.sortedLegalMoves(match, legalMoves);
+                int index = in.readUnsignedByte();
+                if (index >= legalCount) {
+                    throw invalidMove(i);
+                }
+                moves[i] = legalMoves[index];
+                match.makeMove(moves[i]);
+            }
+        }
+        return true;
+    }
+
+    // posição final da partida atual; os lances vão para makeMove sem passar por ChessPosition, mas cada um é
+    // conferido com os lances legais, para um arquivo corrompido dar ChessException e não um tabuleiro inconsistente
+    public ChessMatch replay() {
+        if (match == null) {
+            match = newMatch();
+            for (int i = 0; i < moveCount; i++) {
+                if (!isLegal(moves[i])) {
+                    throw invalidMove(i);
+                }
+                match.makeMove(moves[i]);
+            }
+        }
+        return match;
+    }
+
+    private boolean isLegal(int move) {
+        int count = match.legalMoves(legalMoves);
+        for (int i = 0; i < count; i++) {
+            if (ChessMove.source(legalMoves[i]) == ChessMove.source(move) && ChessMove.target(legalMoves[i]) == ChessMove.target(move)
+                    && ChessMove.promotion(legalMoves[i]) == ChessMove.promotion(move)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private ChessException invalidMove(int ply) {
+        return new ChessException("Partida " + games + ", lance " + (ply + 1) + " inválido");
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    private ChessMatch newMatch() {
+        return (fen == null) ? new ChessMatch() : new ChessMatch(fen);
+    }
+
+    private int readVarInt() throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new EOFException("Número de lances mal formado");
+    }
+
+    // reproduz todas as partidas de um arquivo e imprime a velocidade
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.out.println("Uso: GameReader <arquivo>");
+            return;
+        }
+        long start = System.nanoTime();
+        long games = 0;
+        long plies = 0;
+        try (GameReader reader = new GameReader(Files.newInputStream(Paths.get(args[0])))) {
+            while (reader.next()) {
+                reader.replay();
+                games++;
+                plies += reader.getMoveCount();
+            }
+            long elapsed = System.nanoTime() - start;
+            System.out.printf("%s: %d partidas, %d lances em %d ms: %d partidas/s, %d lances/s%n", reader.getFormat(), games, plies,
+                    elapsed / 1_000_000, games * 1_000_000_000L / elapsed, plies * 1_000_000_000L / elapsed);
+        }
+    }
+}
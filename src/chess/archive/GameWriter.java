@@ -0,0 +1,165 @@
+package chess.archive;
+
+import chess.ChessException;
+import chess.ChessMatch;
+import chess.ChessMove;
+import chess.pgn.PgnGame;
+import chess.pgn.PgnListener;
+import chess.pgn.PgnReader;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+
+public class GameWriter implements Closeable {
+
+    // arquivo: "CHSG", versão e formato; depois, para cada partida, um byte com o resultado e se há FEN,
+    // a FEN (se houver), o número de lances em varint e os lances no formato escolhido
+    static final int MAGIC = 0x43485347;
+    static final int VERSION = 1;
+    static final String[] RESULTS = {"*", "1-0", "0-1", "1/2-1/2"};
+    static final int HAS_FEN = 4;
+    static final int MAX_MOVES = 12_000; //acima do maior número de meios-lances de uma partida legal (regra dos 50 lances)
+
+    private DataOutputStream out;
+    private GameFormat format;
+    private int[] legalMoves = new int[256];
+    private byte[] indexes = new byte[256];
+    private long games;
+
+    public GameWriter(OutputStream out, GameFormat format) throws IOException {
+        this.out = new DataOutputStream(new BufferedOutputStream(out, 1 << 16));
+        this.format = format;
+        this.out.writeInt(MAGIC);
+        this.out.writeByte(VERSION);
+        this.out.writeByte(format.ordinal());
+    }
+
+    public long getGames() {
+        return games;
+    }
+
+    public void writeGame(int[] moves, int count, String result) throws IOException {
+        writeGame(null, moves, count, result);
+    }
+
+    // 'fen' é a posição inicial (null para a posição padrão); 'result' é "1-0", "0-1", "1/2-1/2" ou "*"
+    public void writeGame(String fen, int[] moves, int count, String result) throws IOException {
+        int resultCode = Arrays.asList(RESULTS).indexOf((result == null) ? "*" : result);
+        if (resultCode < 0) {
+            throw new ChessException("Resultado inválido: " + result);
+        }
+        if (count < 0 || count > MAX_MOVES) {
+            throw new ChessException("Número de lances inválido: " + count);
+        }
+        if (format == GameFormat.LEGAL_INDEX) {
+            encodeIndexes(fen, moves, count); //antes de escrever, para uma partida ilegal não deixar o arquivo pela metade
+        }
+
+        out.writeByte(resultCode | ((fen != null) ? HAS_FEN : 0));
+        if (fen != null) {
+            out.writeUTF(fen);
+        }
+        writeVarInt(count);
+        if (format == GameFormat.MOVE16) {
+            for (int i = 0; i < count; i++) {
+                out.writeShort(BinaryMove.pack(moves[i]));
+            }
+        }
+        else {
+            out.write(indexes, 0, count);
+        }
+        games++;
+    }
+
+    public void writeGame(PgnGame game) throws IOException {
+        int[] moves = new int[game.getMoveCount()];
+        for (int i = 0; i < moves.length; i++) {
+            moves[i] = game.getMove(i);
+        }
+        writeGame(game.getTag("FEN"), moves, moves.length, game.getResult());
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+
+    // movimentos legais em ordem crescente de código, para o índice não depender da ordem de geração
+    static int sortedLegalMoves(ChessMatch match, int[] moves) {
+        int count = match.legalMoves(moves);
+        Arrays.sort(moves, 0, count);
+        return count;
+    }
+
+    private void encodeIndexes(String fen, int[] moves, int count) {
+        if (indexes.length < count) {
+            indexes = new byte[count];
+        }
+        ChessMatch match = (fen == null) ? new ChessMatch() : new ChessMatch(fen);
+        for (int i = 0; i < count; i++) {
+            int legalCount = sortedLegalMoves(match, legalMoves);
+            int index = Arrays.binarySearch(legalMoves, 0, legalCount, moves[i]);
+            if (index < 0) {
+                throw new ChessException("Lance ilegal na partida: " + ChessMove.toString(moves[i]));
+            }
+            indexes[i] = (byte)index;
+            match.makeMove(moves[i]);
+        }
+    }
+
+    private void writeVarInt(int value) throws IOException { //7 bits por byte, o bit mais alto indica que há mais bytes
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    // converte um arquivo PGN para o formato binário e compara os tamanhos
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.out.println("Uso: GameWriter <entrada.pgn> <saída> [MOVE16|LEGAL_INDEX]");
+            return;
+        }
+        Path output = Paths.get(args[1]);
+        GameFormat format = (args.length > 2) ? GameFormat.valueOf(args[2]) : GameFormat.MOVE16;
+        long start = System.nanoTime();
+        long pgnBytes;
+        long moves;
+        long games;
+        try (PgnReader reader = PgnReader.open(Paths.get(args[0]));
+             GameWriter writer = new GameWriter(Files.newOutputStream(output), format)) {
+            reader.read(new PgnListener() {
+                @Override
+                public void game(PgnGame game) {
+                    try {
+                        writer.writeGame(game);
+                    }
+                    catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+
+                @Override
+                public void error(PgnGame game, String message) {
+                    System.out.println("Partida " + game.getNumber() + " descartada: " + message);
+                }
+            });
+            pgnBytes = reader.getPosition();
+            moves = reader.getMoves();
+            games = writer.getGames();
+        }
+        long binaryBytes = Files.size(output); //depois de fechar, com tudo gravado
+        System.out.printf("%d partidas, %d lances: PGN %d bytes, %s %d bytes (%.1f bytes/partida, %.1fx menor) em %d ms%n",
+                games, moves, pgnBytes, format, binaryBytes, (double)binaryBytes / games,
+                (double)pgnBytes / binaryBytes, (System.nanoTime() - start) / 1_000_000);
+    }
+}
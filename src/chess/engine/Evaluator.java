@@ -0,0 +1,181 @@
+package chess.engine;
+
+import chess.AttackTables;
+import chess.ChessMatch;
+import chess.Color;
+import chess.MagicBitboards;
+import chess.PieceSquareTables;
+import chess.PieceType;
+
+public class Evaluator {
+
+    // avaliação estática em centipeões: material e tabelas de casas vêm prontos da partida (somados a cada lance),
+    // mobilidade, estrutura de peões e segurança do rei são calculados aqui a partir das casas de cada tipo de peça
+    // casas numeradas por linha * 8 + coluna (linha 0 = fileira 8, igual a Position)
+
+    private static final int[] MOBILITY = {0, 4, 5, 2, 1, 0}; //por casa atacada que não tenha peça própria nem seja atacada por peão inimigo
+    private static final int[] KING_ATTACK = {0, 2, 2, 3, 5, 0}; //peso de cada peça que ataca a vizinhança do rei adversário
+    private static final int KING_ATTACK_UNIT = 6;
+    private static final int PAWN_SHIELD = 12; //por peão na frente do rei
+
+    private static final int DOUBLED_PAWN = -12; //por peão além do primeiro na mesma coluna
+    private static final int ISOLATED_PAWN = -15;
+    private static final int[] PASSED_PAWN = {0, 5, 10, 20, 35, 60, 100, 0}; //por fileira, contada a partir do lado do peão
+
+    private static final long FILE_A = 0x0101010101010101L;
+    private static final long FILE_H = FILE_A << 7;
+
+    private static final long[] FILES = new long[8];
+    private static final long[] ADJACENT_FILES = new long[8];
+    private static final long[][] PASSED_SPAN = new long[2][64]; //[cor][casa]: casas à frente, na coluna e nas vizinhas
+    private static final long[][] KING_SHIELD = new long[2][64]; //[cor][casa]: as três casas logo à frente do rei
+
+    static {
+        for (int column = 0; column < 8; column++) {
+            FILES[column] = FILE_A << column;
+        }
+        for (int column = 0; column < 8; column++) {
+            ADJACENT_FILES[column] = ((column > 0) ? FILES[column - 1] : 0L) | ((column < 7) ? FILES[column + 1] : 0L);
+        }
+        int white = Color.BRANCO.ordinal();
+        int black = Color.PRETO.ordinal();
+        for (int square = 0; square < 64; square++) {
+            int row = square >> 3;
+            long span = FILES[square & 7] | ADJACENT_FILES[square & 7];
+            long above = (row == 0) ? 0L : -1L >>> (64 - row * 8); //linhas de índice menor: à frente das brancas
+            long below = (row == 7) ? 0L : -1L << ((row + 1) * 8);
+            PASSED_SPAN[white][square] = span & above;
+            PASSED_SPAN[black][square] = span & below;
+            long neighbours = AttackTables.KING_ATTACKS[square];
+            KING_SHIELD[white][square] = neighbours & above & (0xFFL << Math.max(0, row - 1) * 8);
+            KING_SHIELD[black][square] = neighbours & below & (0xFFL << Math.min(7, row + 1) * 8);
+        }
+    }
+
+    private final PawnHashTable pawnTable;
+
+    // reaproveitados entre as chamadas: casas de cada peça [cor * 6 + tipo] e os termos de cada cor [cor]
+    private final long[] masks = new long[12];
+    private final int[] mobility = new int[2];
+    private final int[] kingAttack = new int[2];
+
+    public Evaluator() {
+        this(new PawnHashTable(256));
+    }
+
+    public Evaluator(PawnHashTable pawnTable) { //a tabela de peões pode ser compartilhada entre vários avaliadores
+        this.pawnTable = pawnTable;
+    }
+
+    public PawnHashTable getPawnTable() {
+        return pawnTable;
+    }
+
+    // pontuação do ponto de vista de quem tem a vez
+    public int evaluate(ChessMatch chessMatch) {
+        long occupied = 0L;
+        for (Color color : Color.values()) {
+            for (PieceType type : PieceType.values()) {
+                long mask = chessMatch.getPieceMask(color, type);
+                masks[color.ordinal() * 6 + type.ordinal()] = mask;
+                occupied |= mask;
+            }
+        }
+        int white = Color.BRANCO.ordinal() * 6;
+        int black = Color.PRETO.ordinal() * 6;
+        long whitePawns = masks[white + PieceType.PAWN.ordinal()];
+        long blackPawns = masks[black + PieceType.PAWN.ordinal()];
+
+        int score = chessMatch.getPieceSquareScore();
+        long pawnKey = chessMatch.getPawnKey();
+        long entry = pawnTable.probe(pawnKey);
+        if (entry != 0) {
+            score += PawnHashTable.score(entry);
+        }
+        else {
+            int pawns = pawnStructure(whitePawns, blackPawns);
+            pawnTable.store(pawnKey, pawns);
+            score += pawns;
+        }
+
+        // a segurança do rei (peões na frente dele e peças atacando a vizinhança) pesa no meio-jogo e some no final
+        int whiteKing = Long.numberOfTrailingZeros(masks[white + PieceType.KING.ordinal()]);
+        int blackKing = Long.numberOfTrailingZeros(masks[black + PieceType.KING.ordinal()]);
+        long whitePawnAttacks = ((whitePawns & ~FILE_A) >>> 9) | ((whitePawns & ~FILE_H) >>> 7);
+        long blackPawnAttacks = ((blackPawns & ~FILE_A) << 7) | ((blackPawns & ~FILE_H) << 9);
+        activity(Color.BRANCO, occupied, ~(ownPieces(white) | blackPawnAttacks), kingZone(blackKing));
+        activity(Color.PRETO, occupied, ~(ownPieces(black) | whitePawnAttacks), kingZone(whiteKing));
+        int w = Color.BRANCO.ordinal();
+        int b = Color.PRETO.ordinal();
+        score += mobility[w] - mobility[b];
+
+        int kingSafety = PAWN_SHIELD * (Long.bitCount(whitePawns & KING_SHIELD[w][whiteKing]) - Long.bitCount(blackPawns & KING_SHIELD[b][blackKing]))
+                + KING_ATTACK_UNIT * (kingAttack[w] - kingAttack[b]);
+        score += kingSafety * chessMatch.getGamePhase() / PieceSquareTables.MAX_PHASE;
+
+        return (chessMatch.getCurrentPlayer() == Color.BRANCO) ? score : -score;
+    }
+
+    // mobilidade das peças da cor e peso dos ataques delas à vizinhança do rei adversário
+    private void activity(Color color, long occupied, long targets, long kingZone) {
+        int first = color.ordinal() * 6;
+        int squares = 0;
+        int attackWeight = 0;
+        for (int type = PieceType.KNIGHT.ordinal(); type <= PieceType.QUEEN.ordinal(); type++) {
+            for (long pieces = masks[first + type]; pieces != 0; pieces &= pieces - 1) {
+                long attacks = attacks(type, Long.numberOfTrailingZeros(pieces), occupied);
+                squares += MOBILITY[type] * Long.bitCount(attacks & targets);
+                if ((attacks & kingZone) != 0) {
+                    attackWeight += KING_ATTACK[type];
+                }
+            }
+        }
+        mobility[color.ordinal()] = squares;
+        kingAttack[color.ordinal()] = attackWeight;
+    }
+
+    private static long attacks(int type, int square, long occupied) {
+        if (type == PieceType.KNIGHT.ordinal()) return AttackTables.KNIGHT_ATTACKS[square];
+        if (type == PieceType.BISHOP.ordinal()) return MagicBitboards.bishopAttacks(square, occupied);
+        if (type == PieceType.ROOK.ordinal()) return MagicBitboards.rookAttacks(square, occupied);
+        return MagicBitboards.queenAttacks(square, occupied);
+    }
+
+    private static long kingZone(int square) {
+        return AttackTables.KING_ATTACKS[square] | 1L << square;
+    }
+
+    private long ownPieces(int color) {
+        long own = 0L;
+        for (int type = 0; type < 6; type++) {
+            own |= masks[color + type];
+        }
+        return own;
+    }
+
+    // peões dobrados, isolados e passados, do ponto de vista das brancas; depende só das casas dos peões
+    static int pawnStructure(long whitePawns, long blackPawns) {
+        return pawnStructure(whitePawns, blackPawns, Color.BRANCO) - pawnStructure(blackPawns, whitePawns, Color.PRETO);
+    }
+
+    private static int pawnStructure(long pawns, long enemyPawns, Color color) {
+        int score = 0;
+        for (int column = 0; column < 8; column++) {
+            int count = Long.bitCount(pawns & FILES[column]);
+            if (count > 1) {
+                score += DOUBLED_PAWN * (count - 1);
+            }
+            if (count > 0 && (pawns & ADJACENT_FILES[column]) == 0) {
+                score += ISOLATED_PAWN * count;
+            }
+        }
+        for (long p = pawns; p != 0; p &= p - 1) {
+            int square = Long.numberOfTrailingZeros(p);
+            if ((enemyPawns & PASSED_SPAN[color.ordinal()][square]) == 0) {
+                int row = square >> 3;
+                score += PASSED_PAWN[(color == Color.BRANCO) ? 7 - row : row];
+            }
+        }
+        return score;
+    }
+}
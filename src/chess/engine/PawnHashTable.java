@@ -0,0 +1,90 @@
+package chess.engine;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+public class PawnHashTable {
+
+    // estrutura de peões já calculada, indexada pela chave dos peões (ChessMatch.getPawnKey); pode ser compartilhada
+    // entre threads sem travas como a TranspositionTable: cada entrada ocupa dois longs, [chave ^ dados, dados]
+    // cada conjunto tem WAYS entradas, da mais recente para a mais antiga; uma entrada nova empurra as outras e a mais antiga sai
+
+    public static final int WAYS = 4;
+
+    private static final long PRESENT = 1L << 32; //distingue uma pontuação 0 de uma entrada vazia
+
+    private final long[] table;
+    private final int setMask;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public PawnHashTable(int kilobytes) {
+        long sets = Long.highestOneBit(Math.max(1L, (long)kilobytes * 1024 / (16 * WAYS))); //16 bytes por entrada
+        if (sets > (1 << 24)) {
+            throw new IllegalArgumentException("Tabela de peões grande demais: " + kilobytes + " KB");
+        }
+        table = new long[(int)sets * WAYS * 2];
+        setMask = (int)sets - 1;
+    }
+
+    // retorna os dados da entrada (ler com score) ou 0 se a estrutura não estiver na tabela
+    public long probe(long pawnKey) {
+        int index = index(pawnKey);
+        for (int slot = index; slot < index + WAYS * 2; slot += 2) {
+            long data = table[slot + 1];
+            if ((table[slot] ^ data) == pawnKey && data != 0) {
+                hits.increment();
+                return data;
+            }
+        }
+        misses.increment();
+        return 0L;
+    }
+
+    public void store(long pawnKey, int score) {
+        int index = index(pawnKey);
+        long data = PRESENT | (score & 0xFFFFFFFFL);
+        System.arraycopy(table, index, table, index + 2, (WAYS - 1) * 2);
+        table[index] = pawnKey ^ data;
+        table[index + 1] = data;
+    }
+
+    public static int score(long data) {
+        return (int)data;
+    }
+
+    public void clear() {
+        Arrays.fill(table, 0L);
+        hits.reset();
+        misses.reset();
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public double getHitRate() {
+        long h = hits.sum();
+        long total = h + misses.sum();
+        return (total == 0) ? 0.0 : (double)h / total;
+    }
+
+    public int getCapacity() { //número de entradas
+        return table.length / 2;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("entradas %d, acertos %d, faltas %d, taxa %.1f%%",
+                getCapacity(), getHits(), getMisses(), getHitRate() * 100);
+    }
+
+    private int index(long pawnKey) {
+        return ((int)(pawnKey ^ (pawnKey >>> 32)) & setMask) * WAYS * 2;
+    }
+}
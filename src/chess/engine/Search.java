@@ -0,0 +1,335 @@
+package chess.engine;
+
+import chess.ChessMatch;
+import chess.ChessMove;
+import chess.ChessPiece;
+import chess.PieceType;
+
+import java.util.Arrays;
+
+public class Search {
+
+    public static final int INFINITY = 1_000_000;
+    public static final int MATE = 100_000;
+    public static final int MAX_PLY = 64;
+
+    private static final int[] PIECE_VALUES = {100, 320, 330, 500, 900, 0}; //na ordem de PieceType, só para ordenar os lances
+
+    private static final int HASH_MOVE_BONUS = 3_000_000;
+    private static final int PV_BONUS = 2_000_000;
+    private static final int CAPTURE_BONUS = 1_000_000;
+    private static final int FIRST_KILLER_BONUS = 900_000;
+    private static final int SECOND_KILLER_BONUS = 800_000;
+
+    private ChessMatch chessMatch;
+    private TranspositionTable table;
+    private Evaluator evaluator = new Evaluator();
+
+    // buffers por nível da busca, reaproveitados entre as buscas
+    private int[][] moves = new int[MAX_PLY + 1][256];
+    private int[][] scores = new int[MAX_PLY + 1][256];
+    private int[][] killers = new int[MAX_PLY + 1][2];
+    private int[][] history = new int[64][64]; //[origem][destino]
+    private int[][] pv = new int[MAX_PLY + 1][MAX_PLY + 1];
+    private int[] pvLength = new int[MAX_PLY + 1];
+    private int[] previousPv = new int[0];
+
+    private long deadline;
+    private long nodeLimit;
+    private long nodes;
+    private boolean stopped;
+
+    public Search(ChessMatch chessMatch) {
+        this(chessMatch, new TranspositionTable(16));
+    }
+
+    public Search(ChessMatch chessMatch, TranspositionTable table) { //a tabela pode ser compartilhada entre várias buscas
+        this.chessMatch = chessMatch;
+        this.table = table;
+    }
+
+    public TranspositionTable getTable() {
+        return table;
+    }
+
+    public Evaluator getEvaluator() {
+        return evaluator;
+    }
+
+    public SearchResult search(long timeMillis) {
+        return search(timeMillis, Long.MAX_VALUE, MAX_PLY);
+    }
+
+    // aprofundamento iterativo até esgotar o tempo, os nós ou a profundidade; a partida volta ao estado original
+    public SearchResult search(long timeMillis, long maxNodes, int maxDepth) {
+        long start = System.nanoTime();
+        deadline = start + timeMillis * 1_000_000L;
+        nodeLimit = maxNodes;
+        nodes = 0;
+        stopped = false;
+        previousPv = new int[0];
+        for (int[] k : killers) {
+            Arrays.fill(k, 0);
+        }
+        for (int[] h : history) {
+            for (int i = 0; i < h.length; i++) {
+                h[i] /= 2; //envelhece o histórico da busca anterior
+            }
+        }
+
+        int bestMove = 0;
+        int bestScore = 0;
+        int completedDepth = 0;
+        int[] bestPv = new int[0];
+        for (int depth = 1; depth <= Math.min(maxDepth, MAX_PLY); depth++) {
+            int score = negamax(depth, -INFINITY, INFINITY, 0);
+            if (stopped) {
+                break; //iteração incompleta, fica com a anterior
+            }
+            completedDepth = depth;
+            bestScore = score;
+            if (pvLength[0] > 0) {
+                bestMove = pv[0][0];
+                bestPv = Arrays.copyOf(pv[0], pvLength[0]);
+                previousPv = bestPv;
+            }
+            if (pvLength[0] == 0 || Math.abs(score) >= MATE - MAX_PLY) {
+                break; //sem lances legais, ou mate encontrado
+            }
+        }
+        if (completedDepth == 0) { //o orçamento acabou antes da profundidade 1: fica com o primeiro lance legal
+            int count = chessMatch.legalMoves(moves[0]);
+            if (count > 0) {
+                bestMove = moves[0][0];
+                bestPv = new int[] {bestMove};
+            }
+        }
+        return new SearchResult(bestMove, bestScore, completedDepth, nodes, (System.nanoTime() - start) / 1_000_000, bestPv);
+    }
+
+    private int negamax(int depth, int alpha, int beta, int ply) {
+        pvLength[ply] = 0;
+        if (chessMatch.getCheck()) {
+            depth++; //extensão de xeque
+        }
+        if (depth <= 0) {
+            return quiescence(alpha, beta, ply);
+        }
+        if (countNode()) {
+            return 0;
+        }
+        if (ply >= MAX_PLY) {
+            return evaluator.evaluate(chessMatch);
+        }
+
+        long key = chessMatch.getZobristKey();
+        int hashMove = 0;
+        long entry = table.probe(key);
+        if (entry != 0) {
+            hashMove = TranspositionTable.move(entry);
+            if (ply > 0 && TranspositionTable.depth(entry) >= depth) {
+                int score = fromTable(TranspositionTable.score(entry), ply);
+                int bound = TranspositionTable.bound(entry);
+                if (bound == TranspositionTable.BOUND_EXACT
+                        || (bound == TranspositionTable.BOUND_LOWER && score >= beta)
+                        || (bound == TranspositionTable.BOUND_UPPER && score <= alpha)) {
+                    return score;
+                }
+            }
+        }
+
+        int[] list = moves[ply];
+        int count = chessMatch.legalMoves(list);
+        if (count == 0) {
+            return chessMatch.getCheck() ? -MATE + ply : 0; //xequemate ou afogamento
+        }
+        scoreMoves(list, count, ply, hashMove);
+
+        int originalAlpha = alpha;
+        int bestMove = 0;
+        for (int i = 0; i < count; i++) {
+            int move = pickMove(list, scores[ply], i, count);
+            chessMatch.makeMove(move);
+            int score = -negamax(depth - 1, -beta, -alpha, ply + 1);
+            chessMatch.undoMove();
+            if (stopped) {
+                return 0;
+            }
+            if (score > alpha) {
+                alpha = score;
+                bestMove = move;
+                updatePv(ply, move);
+                if (score >= beta) {
+                    if (!isTactical(move)) {
+                        storeKiller(ply, move);
+                        history[ChessMove.source(move)][ChessMove.target(move)] += depth * depth;
+                    }
+                    table.store(key, move, toTable(beta, ply), depth, TranspositionTable.BOUND_LOWER);
+                    return beta;
+                }
+            }
+        }
+        table.store(key, bestMove, toTable(alpha, ply), depth,
+                alpha > originalAlpha ? TranspositionTable.BOUND_EXACT : TranspositionTable.BOUND_UPPER);
+        return alpha;
+    }
+
+    // pontuações de mate ficam na tabela relativas à posição, não à raiz
+    private static int toTable(int score, int ply) {
+        if (score >= MATE - MAX_PLY) return score + ply;
+        if (score <= -MATE + MAX_PLY) return score - ply;
+        return score;
+    }
+
+    private static int fromTable(int score, int ply) {
+        if (score >= MATE - MAX_PLY) return score - ply;
+        if (score <= -MATE + MAX_PLY) return score + ply;
+        return score;
+    }
+
+    // só capturas e promoções, para não parar a busca no meio de uma troca; em xeque não há como ficar parado,
+    // então todas as defesas são buscadas
+    private int quiescence(int alpha, int beta, int ply) {
+        pvLength[ply] = 0;
+        if (countNode()) {
+            return 0;
+        }
+        int[] list = moves[ply];
+        int count = chessMatch.legalMoves(list);
+        if (count == 0) {
+            return chessMatch.getCheck() ? -MATE + ply : 0;
+        }
+        if (ply >= MAX_PLY) {
+            return evaluator.evaluate(chessMatch);
+        }
+
+        int tactical = count;
+        if (!chessMatch.getCheck()) {
+            int standPat = evaluator.evaluate(chessMatch);
+            if (standPat >= beta) {
+                return beta;
+            }
+            if (standPat > alpha) {
+                alpha = standPat;
+            }
+            tactical = 0;
+            for (int i = 0; i < count; i++) {
+                if (isTactical(list[i])) {
+                    list[tactical++] = list[i];
+                }
+            }
+        }
+        scoreMoves(list, tactical, ply, 0);
+
+        for (int i = 0; i < tactical; i++) {
+            int move = pickMove(list, scores[ply], i, tactical);
+            chessMatch.makeMove(move);
+            int score = -quiescence(-beta, -alpha, ply + 1);
+            chessMatch.undoMove();
+            if (stopped) {
+                return 0;
+            }
+            if (score > alpha) {
+                alpha = score;
+                updatePv(ply, move);
+                if (score >= beta) {
+                    return beta;
+                }
+            }
+        }
+        return alpha;
+    }
+
+    private boolean countNode() { //retorna true quando acabou o orçamento de tempo ou de nós
+        nodes++;
+        if (nodes >= nodeLimit || ((nodes & 127) == 0 && System.nanoTime() >= deadline)) {
+            stopped = true;
+        }
+        return stopped;
+    }
+
+    // ordenação: movimento da tabela de transposição, da variante principal anterior, capturas por MVV-LVA, killers e histórico
+    private void scoreMoves(int[] list, int count, int ply, int hashMove) {
+        int pvMove = (ply < previousPv.length) ? previousPv[ply] : 0;
+        for (int i = 0; i < count; i++) {
+            int move = list[i];
+            int score;
+            if (move == hashMove) {
+                score = HASH_MOVE_BONUS;
+            }
+            else if (move == pvMove) {
+                score = PV_BONUS;
+            }
+            else if (isTactical(move)) {
+                score = CAPTURE_BONUS + 10 * victimValue(move) - PIECE_VALUES[chessMatch.pieceAt(ChessMove.source(move)).getType().ordinal()];
+                PieceType promotion = ChessMove.promotion(move);
+                if (promotion != null) {
+                    score += PIECE_VALUES[promotion.ordinal()];
+                }
+            }
+            else if (move == killers[ply][0]) {
+                score = FIRST_KILLER_BONUS;
+            }
+            else if (move == killers[ply][1]) {
+                score = SECOND_KILLER_BONUS;
+            }
+            else {
+                score = Math.min(history[ChessMove.source(move)][ChessMove.target(move)], SECOND_KILLER_BONUS - 1);
+            }
+            scores[ply][i] = score;
+        }
+    }
+
+    private int pickMove(int[] list, int[] moveScores, int index, int count) { //seleção parcial: traz o melhor restante para a posição index
+        int best = index;
+        for (int i = index + 1; i < count; i++) {
+            if (moveScores[i] > moveScores[best]) {
+                best = i;
+            }
+        }
+        int move = list[best];
+        list[best] = list[index];
+        list[index] = move;
+        int score = moveScores[best];
+        moveScores[best] = moveScores[index];
+        moveScores[index] = score;
+        return move;
+    }
+
+    private boolean isTactical(int move) {
+        return ChessMove.promotion(move) != null || victimValue(move) > 0;
+    }
+
+    private int victimValue(int move) {
+        ChessPiece victim = chessMatch.pieceAt(ChessMove.target(move));
+        if (victim != null) {
+            return PIECE_VALUES[victim.getType().ordinal()];
+        }
+        ChessPiece attacker = chessMatch.pieceAt(ChessMove.source(move));
+        if (attacker.getType() == PieceType.PAWN && (ChessMove.target(move) - ChessMove.source(move)) % 8 != 0) {
+            return PIECE_VALUES[PieceType.PAWN.ordinal()]; //en passant
+        }
+        return 0;
+    }
+
+    private void storeKiller(int ply, int move) {
+        if (killers[ply][0] != move) {
+            killers[ply][1] = killers[ply][0];
+            killers[ply][0] = move;
+        }
+    }
+
+    private void updatePv(int ply, int move) {
+        pv[ply][0] = move;
+        System.arraycopy(pv[ply + 1], 0, pv[ply], 1, pvLength[ply + 1]);
+        pvLength[ply] = pvLength[ply + 1] + 1;
+    }
+
+    public static void main(String[] args) {
+        long timeMillis = (args.length > 0) ? Long.parseLong(args[0]) : 1000;
+        Search search = new Search(new ChessMatch());
+        System.out.println(search.search(timeMillis));
+        System.out.println(search.getTable());
+        System.out.println(search.getEvaluator().getPawnTable());
+    }
+}
@@ -0,0 +1,61 @@
+package chess.engine;
+
+import chess.ChessMove;
+
+public class SearchResult {
+
+    private int bestMove;
+    private int score;
+    private int depth;
+    private long nodes;
+    private long timeMillis;
+    private int[] principalVariation;
+
+    public SearchResult(int bestMove, int score, int depth, long nodes, long timeMillis, int[] principalVariation) {
+        this.bestMove = bestMove;
+        this.score = score;
+        this.depth = depth;
+        this.nodes = nodes;
+        this.timeMillis = timeMillis;
+        this.principalVariation = principalVariation;
+    }
+
+    public int getBestMove() {
+        return bestMove;
+    }
+
+    public int getScore() { //em centésimos de peão, do ponto de vista de quem joga
+        return score;
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+
+    public long getNodes() {
+        return nodes;
+    }
+
+    public long getTimeMillis() {
+        return timeMillis;
+    }
+
+    public int[] getPrincipalVariation() {
+        return principalVariation;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("melhor ").append(bestMove == 0 ? "-" : ChessMove.toString(bestMove));
+        sb.append(" pontuação ").append(score);
+        sb.append(" profundidade ").append(depth);
+        sb.append(" nós ").append(nodes);
+        sb.append(" tempo ").append(timeMillis).append(" ms");
+        sb.append(" pv");
+        for (int move : principalVariation) {
+            sb.append(' ').append(ChessMove.toString(move));
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,141 @@
+package chess.engine;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+public class TranspositionTable {
+
+    // tabela compartilhada entre threads sem travas: cada entrada ocupa dois longs, [chave ^ dados, dados],
+    // e uma leitura só é aceita se a chave recomposta bater (entradas escritas pela metade são descartadas)
+    // cada balde tem duas entradas: a primeira guarda a busca mais profunda, a segunda é sempre substituída
+
+    public static final int BOUND_EXACT = 1;
+    public static final int BOUND_LOWER = 2; //pontuação >= valor (corte beta)
+    public static final int BOUND_UPPER = 3; //pontuação <= valor (nenhum movimento superou alfa)
+
+    private static final int SCORE_OFFSET = 1 << 19;
+
+    private final long[] table;
+    private final int bucketMask;
+
+    private final LongAdder probes = new LongAdder();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder stores = new LongAdder();
+    private final LongAdder used = new LongAdder();
+
+    public TranspositionTable(int megabytes) {
+        long buckets = Long.highestOneBit(Math.max(1L, (long)megabytes * 1024 * 1024 / 32)); //32 bytes por balde
+        if (buckets > (1 << 26)) {
+            throw new IllegalArgumentException("Tabela de transposição grande demais: " + megabytes + " MB");
+        }
+        table = new long[(int)buckets * 4];
+        bucketMask = (int)buckets - 1;
+    }
+
+    // retorna os dados da entrada ou 0 se a posição não estiver na tabela
+    public long probe(long key) {
+        probes.increment();
+        int index = index(key);
+        for (int slot = index; slot < index + 4; slot += 2) {
+            long data = table[slot + 1];
+            if ((table[slot] ^ data) == key && data != 0) {
+                hits.increment();
+                return data;
+            }
+        }
+        return 0L;
+    }
+
+    public void store(long key, int move, int score, int depth, int bound) {
+        int index = index(key);
+        long data = pack(move, score, depth, bound);
+        long deepData = table[index + 1];
+        boolean sameKey = (table[index] ^ deepData) == key;
+        int slot;
+        if (deepData == 0 || sameKey || depth >= depth(deepData)) {
+            slot = index;
+            if (!sameKey && deepData != 0) { //a entrada mais rasa desce para a posição de substituição sempre
+                if (table[index + 3] == 0) {
+                    used.increment();
+                }
+                table[index + 2] = table[index];
+                table[index + 3] = deepData;
+            }
+        }
+        else {
+            slot = index + 2;
+        }
+        if (table[slot + 1] == 0) {
+            used.increment();
+        }
+        table[slot] = key ^ data;
+        table[slot + 1] = data;
+        stores.increment();
+    }
+
+    public void clear() {
+        Arrays.fill(table, 0L);
+        probes.reset();
+        hits.reset();
+        stores.reset();
+        used.reset();
+    }
+
+    public static int move(long data) {
+        return (int)(data & 0xFFFFFF);
+    }
+
+    public static int score(long data) {
+        return (int)((data >>> 24) & 0xFFFFF) - SCORE_OFFSET;
+    }
+
+    public static int depth(long data) {
+        return (int)((data >>> 44) & 0xFF);
+    }
+
+    public static int bound(long data) {
+        return (int)((data >>> 52) & 0x3);
+    }
+
+    public long getProbes() {
+        return probes.sum();
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getStores() {
+        return stores.sum();
+    }
+
+    public double getHitRate() {
+        long p = probes.sum();
+        return (p == 0) ? 0.0 : (double)hits.sum() / p;
+    }
+
+    public double getFillRate() {
+        return Math.min(1.0, (double)used.sum() / (table.length / 2));
+    }
+
+    public int getCapacity() { //número de entradas
+        return table.length / 2;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("entradas %d, consultas %d, acertos %.1f%%, ocupação %.1f%%",
+                getCapacity(), getProbes(), getHitRate() * 100, getFillRate() * 100);
+    }
+
+    private int index(long key) {
+        return ((int)(key ^ (key >>> 32)) & bucketMask) << 2;
+    }
+
+    private static long pack(int move, int score, int depth, int bound) {
+        return (move & 0xFFFFFFL)
+                | ((long)(score + SCORE_OFFSET) & 0xFFFFF) << 24
+                | ((long)Math.min(depth, 255) & 0xFF) << 44
+                | ((long)bound & 0x3) << 52;
+    }
+}
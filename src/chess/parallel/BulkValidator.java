@@ -0,0 +1,165 @@
+package chess.parallel;
+
+import boardGame.BoardException;
+import chess.ChessException;
+import chess.ChessMatch;
+import chess.ChessMove;
+import chess.Color;
+import chess.PieceType;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+public class BulkValidator {
+
+    // valida partidas em notação de coordenadas, uma por linha (ex: "e2e4 e7e5 g1f3 ... 1-0"), repetindo cada lance com
+    // performChessMove; o lote é dividido ao meio até blocos de chunkSize partidas, e cada bloco roda numa thread do pool
+    private static final int BATCH_SIZE = 100_000; //partidas lidas do arquivo por vez no main
+
+    private ForkJoinPool pool;
+    private int chunkSize;
+
+    public BulkValidator(ForkJoinPool pool, int chunkSize) {
+        this.pool = pool;
+        this.chunkSize = chunkSize;
+    }
+
+    public ValidationReport validate(List<String> games) {
+        return validate(games, 0);
+    }
+
+    // 'firstGame' é o número da primeira partida da lista, usado nos erros quando o corpus é validado em partes
+    public ValidationReport validate(List<String> games, long firstGame) {
+        long start = System.nanoTime();
+        ValidationReport report = pool.invoke(new ValidationTask(games, 0, games.size(), firstGame, chunkSize));
+        report.setElapsedNanos(System.nanoTime() - start);
+        return report;
+    }
+
+    // repete uma partida numa ChessMatch nova e soma o resultado ao relatório
+    private static void validateGame(String game, long number, ValidationReport report) {
+        String[] moves = game.trim().split("\\s+");
+        ChessMatch chessMatch = new ChessMatch();
+        int ply = 0;
+        for (String move : moves) {
+            if (move.isEmpty()) {
+                continue;
+            }
+            if (move.equals("1-0") || move.equals("0-1") || move.equals("1/2-1/2") || move.equals("*")) {
+                if (chessMatch.getCheckMate() && !move.equals("*") && !move.equals(chessMatch.getCurrentPlayer() == Color.BRANCO ? "1-0" : "0-1")) {
+                    report.addError(new ValidationReport.GameError(number, ply, move, "Resultado não confere com o xequemate"));
+                    return;
+                }
+                break;
+            }
+            ply++;
+            try {
+                if (chessMatch.getCheckMate()) {
+                    throw new ChessException("Lance após o xequemate");
+                }
+                int encoded = ChessMove.parse(move);
+                PieceType promotion = ChessMove.promotion(encoded);
+                //a peça escolhida entra no próprio lance, para o teste de xequemate e a troca de vez valerem para ela
+                chessMatch.performChessMove(ChessMove.source(encoded), ChessMove.target(encoded),
+                        (promotion == null) ? PieceType.QUEEN : promotion);
+                if (promotion != null && chessMatch.getPromoted() == null) {
+                    throw new ChessException("Promoção indicada num lance sem promoção");
+                }
+            }
+            catch (BoardException e) {
+                report.addError(new ValidationReport.GameError(number, ply, move, e.getMessage()));
+                return;
+            }
+        }
+        report.addGame(ply);
+        if (!chessMatch.getCheckMate()) {
+            report.addUnfinished();
+        }
+        else if (chessMatch.getCurrentPlayer() == Color.BRANCO) { //no xequemate a vez não passa, fica com quem deu o mate
+            report.addWhiteWin();
+        }
+        else {
+            report.addBlackWin();
+        }
+    }
+
+    private static class ValidationTask extends RecursiveTask<ValidationReport> {
+        private static final long serialVersionUID = 1L;
+
+        private List<String> games;
+        private int from;
+        private int to;
+        private long firstGame;
+        private int chunkSize;
+
+        private ValidationTask(List<String> games, int from, int to, long firstGame, int chunkSize) {
+            this.games = games;
+            this.from = from;
+            this.to = to;
+            this.firstGame = firstGame;
+            this.chunkSize = chunkSize;
+        }
+
+        @Override
+        protected ValidationReport compute() {
+            if (to - from <= chunkSize) {
+                ValidationReport report = new ValidationReport();
+                for (int i = from; i < to; i++) {
+                    validateGame(games.get(i), firstGame + i, report);
+                }
+                return report;
+            }
+            int middle = (from + to) >>> 1;
+            ValidationTask left = new ValidationTask(games, from, middle, firstGame, chunkSize);
+            ValidationTask right = new ValidationTask(games, middle, to, firstGame, chunkSize);
+            right.fork();
+            ValidationReport report = left.compute();
+            report.merge(right.join());
+            return report;
+        }
+    }
+
+    // valida um arquivo em partes de BATCH_SIZE partidas, sem carregar o corpus inteiro na memória
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.out.println("Uso: BulkValidator <arquivo> [threads] [partidas por bloco]");
+            return;
+        }
+        int threads = (args.length > 1) ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        int chunkSize = (args.length > 2) ? Integer.parseInt(args[2]) : 64;
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        BulkValidator validator = new BulkValidator(pool, chunkSize);
+
+        ValidationReport total = new ValidationReport();
+        try (BufferedReader reader = Files.newBufferedReader(Paths.get(args[0]), StandardCharsets.UTF_8)) {
+            List<String> batch = new ArrayList<>(BATCH_SIZE);
+            long firstGame = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isBlank()) {
+                    batch.add(line);
+                }
+                if (batch.size() == BATCH_SIZE) {
+                    total.merge(validator.validate(batch, firstGame));
+                    firstGame += batch.size();
+                    batch.clear();
+                    System.out.println(total);
+                }
+            }
+            total.merge(validator.validate(batch, firstGame));
+        }
+        pool.shutdown();
+
+        for (ValidationReport.GameError error : total.getErrors()) {
+            System.out.println(error);
+        }
+        System.out.println(threads + " threads: " + total);
+    }
+}
@@ -0,0 +1,153 @@
+package chess.parallel;
+
+import chess.ChessMatch;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class MateSearch {
+
+    // procura mate forçado em até N lances de quem joga; os lances da raiz são distribuídos pelo pool,
+    // cada um numa cópia própria da partida, e a busca para assim que algum encontra o mate
+
+    private ForkJoinPool pool;
+
+    public MateSearch(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    // retorna o primeiro lance do mate encontrado ou 0 se não houver mate em até 'moves' lances
+    public int findMate(ChessMatch chessMatch, int moves) {
+        validateMoves(moves);
+        AtomicInteger result = new AtomicInteger();
+        AtomicBoolean found = new AtomicBoolean();
+        int[] list = new int[256];
+        int count = chessMatch.legalMoves(list);
+        List<RootTask> tasks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            chessMatch.makeMove(list[i]);
+            tasks.add(new RootTask(new ChessMatch(chessMatch), list[i], moves, result, found));
+            chessMatch.undoMove();
+        }
+        pool.invoke(new RecursiveAction() {
+            @Override
+            protected void compute() {
+                invokeAll(tasks);
+            }
+        });
+        return result.get();
+    }
+
+    // versão numa única thread, sobre a própria partida
+    public static int findMateSequential(ChessMatch chessMatch, int moves) {
+        validateMoves(moves);
+        Walker walker = new Walker(chessMatch, new AtomicBoolean(), moves);
+        int[] list = walker.buffer(0);
+        int count = chessMatch.legalMoves(list);
+        for (int i = 0; i < count; i++) {
+            chessMatch.makeMove(list[i]);
+            boolean mate = walker.defenderLoses(moves, 1);
+            chessMatch.undoMove();
+            if (mate) {
+                return list[i];
+            }
+        }
+        return 0;
+    }
+
+    private static void validateMoves(int moves) {
+        if (moves < 1) {
+            throw new IllegalArgumentException("O mate precisa ser em pelo menos 1 lance: " + moves);
+        }
+    }
+
+    private static class RootTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private ChessMatch chessMatch;
+        private int move;
+        private int moves;
+        private AtomicInteger result;
+        private AtomicBoolean found;
+
+        private RootTask(ChessMatch chessMatch, int move, int moves, AtomicInteger result, AtomicBoolean found) {
+            this.chessMatch = chessMatch;
+            this.move = move;
+            this.moves = moves;
+            this.result = result;
+            this.found = found;
+        }
+
+        @Override
+        protected void compute() {
+            if (found.get()) {
+                return;
+            }
+            if (new Walker(chessMatch, found, moves).defenderLoses(moves, 1) && found.compareAndSet(false, true)) {
+                result.set(move);
+            }
+        }
+    }
+
+    private static class Walker {
+        private ChessMatch chessMatch;
+        private AtomicBoolean cancelled;
+        private int[][] buffers;
+
+        private Walker(ChessMatch chessMatch, AtomicBoolean cancelled, int moves) {
+            this.chessMatch = chessMatch;
+            this.cancelled = cancelled;
+            buffers = new int[2 * moves][]; //um por meio-lance: o último lance do defensor fica no nível 2 * moves - 1
+        }
+
+        private int[] buffer(int ply) {
+            if (buffers[ply] == null) {
+                buffers[ply] = new int[256];
+            }
+            return buffers[ply];
+        }
+
+        // lance de quem ataca: basta um lance que force o mate
+        private boolean attackerMates(int moves, int ply) {
+            int[] list = buffer(ply);
+            int count = chessMatch.legalMoves(list);
+            for (int i = 0; i < count && !cancelled.get(); i++) {
+                chessMatch.makeMove(list[i]);
+                boolean mate = defenderLoses(moves, ply + 1);
+                chessMatch.undoMove();
+                if (mate) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        // lance de quem defende: todas as respostas precisam levar ao mate
+        private boolean defenderLoses(int moves, int ply) {
+            int[] list = buffer(ply);
+            int count = chessMatch.legalMoves(list);
+            if (count == 0) {
+                return chessMatch.getCheck(); //xequemate; afogamento não conta
+            }
+            if (moves == 1) {
+                return false;
+            }
+            for (int i = 0; i < count; i++) {
+                if (cancelled.get()) {
+                    return false;
+                }
+                chessMatch.makeMove(list[i]);
+                boolean mate = attackerMates(moves - 1, ply + 1);
+                chessMatch.undoMove();
+                if (!mate) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package chess.parallel;
+
+import chess.ChessMatch;
+import chess.perft.Perft;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+public class ParallelPerft {
+
+    // divide a árvore em tarefas até splitDepth níveis abaixo da raiz; cada tarefa trabalha numa cópia própria da partida
+    private ForkJoinPool pool;
+    private int splitDepth;
+
+    public ParallelPerft(ForkJoinPool pool, int splitDepth) {
+        this.pool = pool;
+        this.splitDepth = splitDepth;
+    }
+
+    public long perft(ChessMatch chessMatch, int depth) {
+        return pool.invoke(new PerftTask(new ChessMatch(chessMatch), depth, splitDepth));
+    }
+
+    private static class PerftTask extends RecursiveTask<Long> {
+        private static final long serialVersionUID = 1L;
+
+        private ChessMatch chessMatch;
+        private int depth;
+        private int split;
+
+        private PerftTask(ChessMatch chessMatch, int depth, int split) {
+            this.chessMatch = chessMatch;
+            this.depth = depth;
+            this.split = split;
+        }
+
+        @Override
+        protected Long compute() {
+            if (split == 0 || depth <= 2) {
+                return new Perft(chessMatch).perft(depth);
+            }
+            int[] moves = new int[256];
+            int count = chessMatch.legalMoves(moves);
+            List<PerftTask> tasks = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                chessMatch.makeMove(moves[i]);
+                tasks.add(new PerftTask(new ChessMatch(chessMatch), depth - 1, split - 1));
+                chessMatch.undoMove();
+            }
+            long nodes = 0;
+            for (PerftTask task : invokeAll(tasks)) {
+                nodes += task.join();
+            }
+            return nodes;
+        }
+    }
+}
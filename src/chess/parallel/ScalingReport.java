@@ -0,0 +1,68 @@
+package chess.parallel;
+
+import chess.ChessMatch;
+import chess.ChessPosition;
+import chess.perft.Perft;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+public class ScalingReport {
+
+    // mede perft e busca de mate com 1, 2, 4... threads até o número de processadores e imprime aceleração e eficiência
+    public static void main(String[] args) {
+        int depth = (args.length > 0) ? Integer.parseInt(args[0]) : 5;
+        int mateMoves = (args.length > 1) ? Integer.parseInt(args[1]) : 3;
+        int maxThreads = (args.length > 2) ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+
+        ChessMatch start = new ChessMatch();
+        ChessMatch italian = new ChessMatch();
+        for (String move : "e2e4 e7e5 g1f3 b8c6 f1c4 g8f6".split(" ")) {
+            italian.performChessMove(new ChessPosition(move.charAt(0), move.charAt(1) - '0'),
+                    new ChessPosition(move.charAt(2), move.charAt(3) - '0'));
+        }
+
+        List<Integer> threadCounts = new ArrayList<>();
+        for (int threads = 1; threads < maxThreads; threads *= 2) {
+            threadCounts.add(threads);
+        }
+        threadCounts.add(maxThreads);
+
+        // aquecimento do JIT, para que a primeira medição (1 thread) não pague a compilação
+        ForkJoinPool warmup = new ForkJoinPool(maxThreads);
+        new ParallelPerft(warmup, 2).perft(start, depth);
+        new MateSearch(warmup).findMate(italian, mateMoves);
+        warmup.shutdown();
+
+        System.out.println("Perft profundidade " + depth + " a partir da posição inicial");
+        long baseline = 0;
+        for (int threads : threadCounts) {
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            long begin = System.nanoTime();
+            long nodes = new ParallelPerft(pool, 2).perft(start, depth);
+            long elapsed = System.nanoTime() - begin;
+            pool.shutdown();
+            baseline = (threads == 1) ? elapsed : baseline;
+            print(threads, elapsed, baseline, nodes + " nós, " + Perft.nodesPerSecond(nodes, elapsed) + " nós/s");
+        }
+
+        System.out.println();
+        System.out.println("Mate em " + mateMoves + " (busca completa, sem mate) na Italiana");
+        for (int threads : threadCounts) {
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            long begin = System.nanoTime();
+            int move = new MateSearch(pool).findMate(italian, mateMoves);
+            long elapsed = System.nanoTime() - begin;
+            pool.shutdown();
+            baseline = (threads == 1) ? elapsed : baseline;
+            print(threads, elapsed, baseline, move == 0 ? "sem mate" : "mate encontrado");
+        }
+    }
+
+    private static void print(int threads, long elapsed, long baseline, String detail) {
+        double speedup = (double)baseline / elapsed;
+        System.out.printf("%3d threads: %8d ms  aceleração %5.2fx  eficiência %5.1f%%  (%s)%n",
+                threads, elapsed / 1_000_000, speedup, speedup / threads * 100, detail);
+    }
+}
@@ -0,0 +1,147 @@
+package chess.parallel;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ValidationReport {
+
+    // totais de um lote de partidas; cada bloco preenche o seu e os blocos são somados no final
+    private static final int MAX_ERRORS = 100; //quantas partidas inválidas são guardadas com o detalhe do erro
+
+    private long games;
+    private long moves;
+    private long whiteWins;
+    private long blackWins;
+    private long unfinished;
+    private long invalidGames;
+    private List<GameError> errors = new ArrayList<>();
+    private long elapsedNanos;
+
+    public long getGames() {
+        return games;
+    }
+
+    public long getValidGames() {
+        return games - invalidGames;
+    }
+
+    public long getInvalidGames() {
+        return invalidGames;
+    }
+
+    public long getMoves() {
+        return moves;
+    }
+
+    public long getWhiteWins() { //partidas válidas terminadas em xequemate das brancas
+        return whiteWins;
+    }
+
+    public long getBlackWins() {
+        return blackWins;
+    }
+
+    public long getUnfinished() { //partidas válidas sem xequemate
+        return unfinished;
+    }
+
+    public List<GameError> getErrors() { //as primeiras partidas inválidas, pela ordem no lote
+        return errors;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public long getGamesPerSecond() {
+        return (elapsedNanos == 0) ? 0 : games * 1_000_000_000L / elapsedNanos;
+    }
+
+    void addGame(int moveCount) {
+        games++;
+        moves += moveCount;
+    }
+
+    void addWhiteWin() {
+        whiteWins++;
+    }
+
+    void addBlackWin() {
+        blackWins++;
+    }
+
+    void addUnfinished() {
+        unfinished++;
+    }
+
+    void addError(GameError error) {
+        games++;
+        invalidGames++;
+        if (errors.size() < MAX_ERRORS) {
+            errors.add(error);
+        }
+    }
+
+    void setElapsedNanos(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    // soma outro relatório a este; 'other' deve vir de partidas posteriores, para manter os erros em ordem
+    void merge(ValidationReport other) {
+        games += other.games;
+        moves += other.moves;
+        whiteWins += other.whiteWins;
+        blackWins += other.blackWins;
+        unfinished += other.unfinished;
+        invalidGames += other.invalidGames;
+        for (GameError error : other.errors) {
+            if (errors.size() == MAX_ERRORS) {
+                break;
+            }
+            errors.add(error);
+        }
+        elapsedNanos += other.elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return games + " partidas (" + getValidGames() + " válidas, " + invalidGames + " inválidas), " + moves + " lances; "
+                + "brancas vencem " + whiteWins + ", pretas vencem " + blackWins + ", sem xequemate " + unfinished + "; "
+                + elapsedNanos / 1_000_000 + " ms, " + getGamesPerSecond() + " partidas/s";
+    }
+
+    public static class GameError {
+        private long game;
+        private int ply;
+        private String move;
+        private String message;
+
+        GameError(long game, int ply, String move, String message) {
+            this.game = game;
+            this.ply = ply;
+            this.move = move;
+            this.message = message;
+        }
+
+        public long getGame() { //número da partida no lote, a partir de 0
+            return game;
+        }
+
+        public int getPly() { //lance com erro, a partir de 1
+            return ply;
+        }
+
+        public String getMove() {
+            return move;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        @Override
+        public String toString() {
+            return "partida " + game + ", lance " + ply + " (" + move + "): " + message;
+        }
+    }
+}
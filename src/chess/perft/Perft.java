@@ -0,0 +1,76 @@
+package chess.perft;
+
+import chess.ChessMatch;
+import chess.ChessMove;
+
+import java.util.Arrays;
+
+public class Perft {
+
+    private ChessMatch chessMatch;
+    private int[][] moves; //um buffer por nível da árvore, reaproveitado entre as chamadas
+
+    public Perft(ChessMatch chessMatch) {
+        this.chessMatch = chessMatch;
+        moves = new int[16][256];
+    }
+
+    public long perft(int depth) {
+        if (depth == 0) {
+            return 1;
+        }
+        return perft(depth, 0);
+    }
+
+    private long perft(int depth, int ply) {
+        if (ply == moves.length) {
+            moves = Arrays.copyOf(moves, ply * 2);
+        }
+        if (moves[ply] == null) {
+            moves[ply] = new int[256];
+        }
+        int[] buffer = moves[ply];
+        int count = chessMatch.legalMoves(buffer);
+        if (depth == 1) {
+            return count; //contagem em massa no último nível
+        }
+        long nodes = 0;
+        for (int i = 0; i < count; i++) {
+            chessMatch.makeMove(buffer[i]);
+            nodes += perft(depth - 1, ply + 1);
+            chessMatch.undoMove();
+        }
+        return nodes;
+    }
+
+    // imprime a contagem de cada movimento da raiz, além do total e da velocidade
+    public long divide(int depth) {
+        long start = System.nanoTime();
+        int[] root = new int[256];
+        int count = chessMatch.legalMoves(root);
+        long total = 0;
+        for (int i = 0; i < count; i++) {
+            chessMatch.makeMove(root[i]);
+            long nodes = perft(depth - 1);
+            chessMatch.undoMove();
+            System.out.println(ChessMove.toString(root[i]) + ": " + nodes);
+            total += nodes;
+        }
+        long elapsed = System.nanoTime() - start;
+        System.out.println();
+        System.out.println("Movimentos: " + count);
+        System.out.println("Nós: " + total);
+        System.out.println("Tempo: " + elapsed / 1_000_000 + " ms");
+        System.out.println("Nós/s: " + nodesPerSecond(total, elapsed));
+        return total;
+    }
+
+    public static long nodesPerSecond(long nodes, long nanos) {
+        return (nanos == 0) ? 0 : nodes * 1_000_000_000L / nanos;
+    }
+
+    public static void main(String[] args) {
+        int depth = (args.length > 0) ? Integer.parseInt(args[0]) : 4;
+        new Perft(new ChessMatch()).divide(depth);
+    }
+}
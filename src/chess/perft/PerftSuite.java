@@ -0,0 +1,84 @@
+package chess.perft;
+
+import chess.BitboardBoard;
+import chess.ChessMatch;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+public class PerftSuite {
+
+    // posições de referência com as contagens conhecidas de nós por profundidade (índice 0 = profundidade 1)
+    private static final List<PerftCase> CASES = new ArrayList<>();
+
+    static {
+        CASES.add(new PerftCase("Posição inicial", ChessMatch::new,
+                20L, 400L, 8902L, 197281L, 4865609L, 119060324L));
+        CASES.add(new PerftCase("Posição inicial (BitboardBoard)", () -> new ChessMatch(new BitboardBoard()),
+                20L, 400L, 8902L, 197281L, 4865609L, 119060324L));
+        CASES.add(new PerftCase("Kiwipete", fen("r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1"),
+                48L, 2039L, 97862L, 4085603L, 193690690L));
+        CASES.add(new PerftCase("Posição 3", fen("8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1"),
+                14L, 191L, 2812L, 43238L, 674624L, 11030083L));
+        CASES.add(new PerftCase("Posição 4", fen("r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0 1"),
+                6L, 264L, 9467L, 422333L, 15833292L));
+        CASES.add(new PerftCase("Posição 4 (espelhada)", fen("r2q1rk1/pP1p2pp/Q4n2/bbp1p3/Np6/1B3NBn/pPPP1PPP/R3K2R b KQ - 0 1"),
+                6L, 264L, 9467L, 422333L, 15833292L));
+        CASES.add(new PerftCase("Posição 5", fen("rnbq1k1r/pp1Pbppp/2p5/8/2B5/8/PPP1NnPP/RNBQK2R w KQ - 1 8"),
+                44L, 1486L, 62379L, 2103487L, 89941194L));
+        CASES.add(new PerftCase("Posição 6", fen("r4rk1/1pp1qppp/p1np1n2/2b1p1B1/2B1P1b1/P1NP1N2/1PP1QPPP/R4RK1 w - - 0 10"),
+                46L, 2079L, 89890L, 3894594L, 164075551L));
+        CASES.add(new PerftCase("Kiwipete (BitboardBoard)",
+                () -> new ChessMatch(new BitboardBoard(), "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1"),
+                48L, 2039L, 97862L, 4085603L, 193690690L));
+    }
+
+    private static Supplier<ChessMatch> fen(String fen) {
+        return () -> new ChessMatch(fen);
+    }
+
+    // roda todas as posições até a profundidade máxima informada e termina com código 1 se alguma contagem divergir
+    public static void main(String[] args) {
+        int maxDepth = (args.length > 0) ? Integer.parseInt(args[0]) : 4;
+        boolean ok = true;
+        long totalNodes = 0;
+        long totalTime = 0;
+
+        for (PerftCase c : CASES) {
+            for (int depth = 1; depth <= Math.min(maxDepth, c.nodes.length); depth++) {
+                Perft perft = new Perft(c.position.get());
+                long start = System.nanoTime();
+                long nodes = perft.perft(depth);
+                long elapsed = System.nanoTime() - start;
+                totalNodes += nodes;
+                totalTime += elapsed;
+
+                long expected = c.nodes[depth - 1];
+                boolean passed = nodes == expected;
+                ok &= passed;
+                System.out.printf("%-35s profundidade %d: %12d nós (esperado %12d) %8d ms %12d nós/s %s%n",
+                        c.name, depth, nodes, expected, elapsed / 1_000_000, Perft.nodesPerSecond(nodes, elapsed),
+                        passed ? "OK" : "FALHOU");
+            }
+        }
+        System.out.println();
+        System.out.println("Total: " + totalNodes + " nós, " + Perft.nodesPerSecond(totalNodes, totalTime) + " nós/s");
+        if (!ok) {
+            System.out.println("Perft divergiu das contagens conhecidas");
+            System.exit(1);
+        }
+    }
+
+    private static class PerftCase {
+        private String name;
+        private Supplier<ChessMatch> position;
+        private long[] nodes;
+
+        private PerftCase(String name, Supplier<ChessMatch> position, long... nodes) {
+            this.name = name;
+            this.position = position;
+            this.nodes = nodes;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package chess.pgn;
+
+import chess.ChessMatch;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class PgnGame {
+
+    private long number; //a partir de 1, na ordem do arquivo
+    private long offset; //posição em bytes do início da partida no arquivo, útil para indexação
+    private Map<String, String> tags = new LinkedHashMap<>();
+    private int[] moves = new int[128];
+    private int moveCount;
+    private String result;
+    private ChessMatch match;
+
+    PgnGame(long number, long offset) {
+        this.number = number;
+        this.offset = offset;
+    }
+
+    public long getNumber() {
+        return number;
+    }
+
+    public long getOffset() {
+        return offset;
+    }
+
+    public Map<String, String> getTags() {
+        return tags;
+    }
+
+    public String getTag(String name) {
+        return tags.get(name);
+    }
+
+    public int getMoveCount() {
+        return moveCount;
+    }
+
+    public int getMove(int index) { //no formato de ChessMove
+        return moves[index];
+    }
+
+    public String getResult() {
+        return result;
+    }
+
+    public ChessMatch getMatch() { //posição final da partida (null se não houve lances)
+        return match;
+    }
+
+    void addMove(int move) {
+        if (moveCount == moves.length) {
+            moves = Arrays.copyOf(moves, moveCount * 2);
+        }
+        moves[moveCount++] = move;
+    }
+
+    void setResult(String result) {
+        this.result = result;
+    }
+
+    void setMatch(ChessMatch match) {
+        this.match = match;
+    }
+}
@@ -0,0 +1,9 @@
+package chess.pgn;
+
+public interface PgnListener {
+
+    void game(PgnGame game);
+
+    // partida com lance ilegal, ambíguo ou mal formado; ela é descartada e a leitura continua
+    void error(PgnGame game, String message);
+}
@@ -0,0 +1,308 @@
+package chess.pgn;
+
+import chess.ChessException;
+import chess.ChessMatch;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+public class PgnReader implements Closeable {
+
+    // lê o arquivo em blocos de um canal NIO, sem nunca carregar o arquivo inteiro na memória
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private ReadableByteChannel channel;
+    private ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+    private boolean endOfChannel;
+    private int pushedBack = -1;
+    private int last = '\n';
+    private int previous; //byte anterior ao último lido, para reconhecer o início de linha
+    private long position; //bytes já consumidos
+
+    private StringBuilder token = new StringBuilder();
+    private ByteArrayOutputStream tagValue = new ByteArrayOutputStream();
+    private int[] legalMoves = new int[256];
+
+    private PgnGame game; //partida em leitura
+    private String error; //primeiro erro da partida em leitura; os lances seguintes são ignorados
+    private boolean inMoves;
+
+    private long games;
+    private long errors;
+    private long moves;
+
+    public PgnReader(ReadableByteChannel channel) {
+        this.channel = channel;
+        buffer.limit(0); //vazio até a primeira leitura
+    }
+
+    public static PgnReader open(Path path) throws IOException {
+        return new PgnReader(FileChannel.open(path, StandardOpenOption.READ));
+    }
+
+    public long getGames() { //partidas válidas
+        return games;
+    }
+
+    public long getErrors() { //partidas descartadas
+        return errors;
+    }
+
+    public long getMoves() {
+        return moves;
+    }
+
+    public long getPosition() {
+        return position;
+    }
+
+    // lê até o fim do canal, entregando cada partida ao listener assim que o seu resultado é lido
+    public void read(PgnListener listener) throws IOException {
+        int c;
+        while ((c = next()) != -1) {
+            if (c <= ' ') {
+                continue;
+            }
+            if (c == '%' && previous == '\n') { //linha de escape
+                skipLine();
+            }
+            else if (c == '[') {
+                if (inMoves) {
+                    fail("partida sem resultado");
+                    finishGame(listener);
+                }
+                startGame();
+                readTag();
+            }
+            else if (c == '{') {
+                skipComment();
+            }
+            else if (c == ';') {
+                skipLine();
+            }
+            else if (c == '(') {
+                skipVariation();
+            }
+            else if (c == '$') {
+                readToken(c);
+            }
+            else if (c == 0xEF && position == 1) { //marca de ordem de bytes do UTF-8
+                next();
+                next();
+            }
+            else {
+                startGame();
+                inMoves = true;
+                readToken(c);
+                movetext(listener);
+            }
+        }
+        if (game != null) {
+            fail("partida sem resultado (arquivo truncado?)");
+            finishGame(listener);
+        }
+    }
+
+    // valida um arquivo PGN, imprimindo as partidas descartadas e a velocidade a cada 100 mil partidas
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.out.println("Uso: PgnReader <arquivo.pgn>");
+            return;
+        }
+        long start = System.nanoTime();
+        try (PgnReader reader = open(Paths.get(args[0]))) {
+            reader.read(new PgnListener() {
+                @Override
+                public void game(PgnGame game) {
+                    if (game.getNumber() % 100_000 == 0) {
+                        report(reader, System.nanoTime() - start);
+                    }
+                }
+
+                @Override
+                public void error(PgnGame game, String message) {
+                    System.out.println("Partida " + game.getNumber() + " (byte " + game.getOffset() + ") descartada: " + message);
+                }
+            });
+            System.out.println();
+            report(reader, System.nanoTime() - start);
+        }
+    }
+
+    private static void report(PgnReader reader, long elapsed) {
+        double seconds = elapsed / 1e9;
+        System.out.printf("%d partidas, %d descartadas, %d lances, %.1f MB em %.1f s: %.0f partidas/s, %.0f lances/s, %.1f MB/s%n",
+                reader.games, reader.errors, reader.moves, reader.position / 1e6, seconds,
+                (reader.games + reader.errors) / seconds, reader.moves / seconds, reader.position / 1e6 / seconds);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private void movetext(PgnListener listener) {
+        String s = token.toString();
+        if (s.equals("1-0") || s.equals("0-1") || s.equals("1/2-1/2") || s.equals("*")) {
+            game.setResult(s);
+            finishGame(listener);
+            return;
+        }
+        int start = 0;
+        while (start < s.length() && (Character.isDigit(s.charAt(start)) || s.charAt(start) == '.')) {
+            start++; //número do lance, ex: 12. ou 12...
+        }
+        if (start == s.length() || error != null) {
+            return;
+        }
+        try {
+            ChessMatch match = game.getMatch();
+            if (match == null) {
+                String fen = game.getTag("FEN");
+                match = (fen == null) ? new ChessMatch() : new ChessMatch(fen);
+                game.setMatch(match);
+            }
+            int move = San.resolve(match, (start == 0) ? s : s.substring(start), legalMoves);
+            match.makeMove(move);
+            game.addMove(move);
+        }
+        catch (ChessException e) {
+            fail("lance " + (game.getMoveCount() / 2 + 1) + ": " + e.getMessage());
+        }
+    }
+
+    private void startGame() {
+        if (game == null) {
+            game = new PgnGame(games + errors + 1, position - 1);
+            error = null;
+        }
+    }
+
+    private void finishGame(PgnListener listener) {
+        PgnGame finished = game;
+        game = null;
+        inMoves = false;
+        if (error == null) {
+            games++;
+            moves += finished.getMoveCount();
+            listener.game(finished);
+        }
+        else {
+            errors++;
+            listener.error(finished, error);
+        }
+    }
+
+    private void fail(String message) {
+        if (error == null) {
+            error = message;
+        }
+    }
+
+    private void readTag() throws IOException {
+        token.setLength(0);
+        int c = next();
+        while (c == ' ' || c == '\t') {
+            c = next();
+        }
+        while (c > ' ' && c != '"' && c != ']') {
+            token.append((char)c);
+            c = next();
+        }
+        while (c != '"' && c != ']' && c != '\n' && c != -1) {
+            c = next();
+        }
+        tagValue.reset();
+        if (c == '"') {
+            c = next();
+            while (c != '"' && c != '\n' && c != -1) {
+                if (c == '\\') {
+                    c = next();
+                }
+                tagValue.write(c);
+                c = next();
+            }
+            while (c != ']' && c != '\n' && c != -1) {
+                c = next();
+            }
+        }
+        if (c != ']') {
+            fail("tag mal formada: " + token);
+        }
+        game.getTags().put(token.toString(), new String(tagValue.toByteArray(), StandardCharsets.UTF_8));
+    }
+
+    private void readToken(int first) throws IOException {
+        token.setLength(0);
+        token.append((char)first);
+        int c = next();
+        while (c > ' ' && "[]{}();".indexOf(c) < 0) {
+            token.append((char)c);
+            c = next();
+        }
+        pushedBack = c;
+    }
+
+    private void skipComment() throws IOException {
+        int c = next();
+        while (c != '}' && c != -1) {
+            c = next();
+        }
+    }
+
+    private void skipLine() throws IOException {
+        int c = next();
+        while (c != '\n' && c != -1) {
+            c = next();
+        }
+    }
+
+    private void skipVariation() throws IOException { //variantes podem ser aninhadas e ter comentários com parênteses
+        int depth = 1;
+        while (depth > 0) {
+            int c = next();
+            if (c == -1) {
+                return;
+            }
+            if (c == '(') depth++;
+            else if (c == ')') depth--;
+            else if (c == '{') skipComment();
+            else if (c == ';') skipLine();
+        }
+    }
+
+    private int next() throws IOException {
+        if (pushedBack != -1) {
+            int c = pushedBack;
+            pushedBack = -1;
+            return c;
+        }
+        if (!buffer.hasRemaining()) {
+            if (endOfChannel) {
+                return -1;
+            }
+            buffer.clear();
+            int n = channel.read(buffer);
+            while (n == 0) {
+                n = channel.read(buffer);
+            }
+            buffer.flip();
+            if (n < 0) {
+                endOfChannel = true;
+                return -1;
+            }
+        }
+        position++;
+        previous = last;
+        last = buffer.get() & 0xFF;
+        return last;
+    }
+}
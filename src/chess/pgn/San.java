@@ -0,0 +1,124 @@
+package chess.pgn;
+
+import chess.ChessException;
+import chess.ChessMatch;
+import chess.ChessMove;
+import chess.ChessPiece;
+import chess.PieceType;
+
+public final class San {
+
+    private static final String PIECES = "PNBRQK"; //na ordem de PieceType
+    private static final PieceType[] TYPES = PieceType.values();
+
+    private San() {
+    }
+
+    // encontra, entre os movimentos legais da vez, o único que corresponde ao lance em notação algébrica (ex: Nbd7, exd8=Q+, O-O)
+    public static int resolve(ChessMatch match, String san, int[] moves) {
+        int end = san.length();
+        while (end > 0 && "+#!?".indexOf(san.charAt(end - 1)) >= 0) {
+            end--;
+        }
+        int count = match.legalMoves(moves);
+
+        // Roque
+        if (isCastling(san, end, 3) || isCastling(san, end, 5)) {
+            int step = (end == 3) ? 2 : -2;
+            for (int i = 0; i < count; i++) {
+                int source = ChessMove.source(moves[i]);
+                if (match.pieceAt(source).getType() == PieceType.KING && ChessMove.target(moves[i]) == source + step) {
+                    return moves[i];
+                }
+            }
+            throw new ChessException("Lance ilegal: " + san);
+        }
+
+        int start = 0;
+        PieceType type = PieceType.PAWN;
+        if (end > 0 && PIECES.indexOf(san.charAt(0)) > 0) {
+            type = TYPES[PIECES.indexOf(san.charAt(0))];
+            start = 1;
+        }
+
+        PieceType promotion = null;
+        if (type == PieceType.PAWN && end > 0 && PIECES.indexOf(san.charAt(end - 1)) > 0) {
+            promotion = TYPES[PIECES.indexOf(san.charAt(end - 1))];
+            end--;
+            if (end > 0 && san.charAt(end - 1) == '=') {
+                end--;
+            }
+        }
+
+        if (end - start < 2 || !isFile(san.charAt(end - 2)) || !isRank(san.charAt(end - 1))) {
+            throw new ChessException("Lance inválido: " + san);
+        }
+        int target = square(san.charAt(end - 2), san.charAt(end - 1));
+
+        // desambiguação pela coluna e/ou linha de origem
+        int sourceColumn = -1;
+        int sourceRow = -1;
+        for (int i = start; i < end - 2; i++) {
+            char c = san.charAt(i);
+            if (isFile(c)) {
+                sourceColumn = c - 'a';
+            }
+            else if (isRank(c)) {
+                sourceRow = '8' - c;
+            }
+            else if (c != 'x' && c != '-') {
+                throw new ChessException("Lance inválido: " + san);
+            }
+        }
+
+        int found = 0;
+        int result = 0;
+        for (int i = 0; i < count; i++) {
+            int move = moves[i];
+            int source = ChessMove.source(move);
+            if (ChessMove.target(move) != target || ChessMove.promotion(move) != promotion) {
+                continue;
+            }
+            if ((sourceColumn >= 0 && (source & 7) != sourceColumn) || (sourceRow >= 0 && (source >> 3) != sourceRow)) {
+                continue;
+            }
+            ChessPiece piece = match.pieceAt(source);
+            if (piece.getType() == type) {
+                found++;
+                result = move;
+            }
+        }
+        if (found == 0) {
+            throw new ChessException("Lance ilegal: " + san);
+        }
+        if (found > 1) {
+            throw new ChessException("Lance ambíguo: " + san);
+        }
+        return result;
+    }
+
+    private static boolean isCastling(String san, int end, int length) {
+        if (end != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            char c = san.charAt(i);
+            if ((i % 2 == 0) ? (c != 'O' && c != '0') : c != '-') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isFile(char c) {
+        return c >= 'a' && c <= 'h';
+    }
+
+    private static boolean isRank(char c) {
+        return c >= '1' && c <= '8';
+    }
+
+    private static int square(char file, char rank) {
+        return ('8' - rank) * 8 + (file - 'a');
+    }
+}
@@ -1,17 +1,19 @@
 package chess.pieces;
 
 import boardGame.Board;
-import boardGame.Position;
+import boardGame.Move;
+import chess.AttackTables;
 import chess.ChessMatch;
 import chess.ChessPiece;
 import chess.Color;
+import chess.PieceType;
 
 public class King extends ChessPiece {
 
     private ChessMatch chessMatch;
 
     public King(Board board, Color color, ChessMatch chessMatch) {
-        super(board, color);
+        super(board, color, PieceType.KING);
         this.chessMatch = chessMatch;
     }
 
@@ -21,93 +23,38 @@ public class King extends ChessPiece {
 
     }
 
-    private boolean canMove(Position position){
-        ChessPiece p = (ChessPiece)getBoard().piece(position);
-        return p == null || p.getColor() != getColor();
-    }
-
-    private boolean testRookCastling(Position position){ // testar se a torre está apta para Roque
-        ChessPiece p = (ChessPiece)getBoard().piece(position);
+    private boolean testRookCastling(int row, int column){ // testar se a torre está apta para Roque
+        if (!getBoard().positionExists(row, column)){
+            return false;
+        }
+        ChessPiece p = (ChessPiece)getBoard().piece(row, column);
         return p != null && p instanceof Rook && p.getColor() == getColor() && p.getMoveCount() == 0;
     }
 
     @Override
-    public boolean[][] possibleMoves() {
-        boolean[][] mat = new boolean[getBoard().getRows()][getBoard().getColumns()];
-
-        Position p = new Position(0, 0);
-
-        // acima
-        p.setValues(position.getRow() - 1, position.getColumn());
-        if(getBoard().positionExists(p) && canMove(p)){
-            mat[p.getRow()][p.getColumn()] = true;
-        }
-
-        // abaixo
-        p.setValues(position.getRow() + 1, position.getColumn());
-        if(getBoard().positionExists(p) && canMove(p)){
-            mat[p.getRow()][p.getColumn()] = true;
-        }
-
-        // esquerda
-        p.setValues(position.getRow(), position.getColumn() - 1);
-        if(getBoard().positionExists(p) && canMove(p)){
-            mat[p.getRow()][p.getColumn()] = true;
-        }
-
-        // direita
-        p.setValues(position.getRow(), position.getColumn() + 1);
-        if(getBoard().positionExists(p) && canMove(p)){
-            mat[p.getRow()][p.getColumn()] = true;
-        }
-
-        // noroeste
-        p.setValues(position.getRow() - 1, position.getColumn() - 1);
-        if(getBoard().positionExists(p) && canMove(p)){
-            mat[p.getRow()][p.getColumn()] = true;
-        }
-
-        // nordeste
-        p.setValues(position.getRow() - 1, position.getColumn() + 1);
-        if(getBoard().positionExists(p) && canMove(p)){
-            mat[p.getRow()][p.getColumn()] = true;
-        }
-
-        // sudoeste
-        p.setValues(position.getRow() + 1, position.getColumn() - 1);
-        if(getBoard().positionExists(p) && canMove(p)){
-            mat[p.getRow()][p.getColumn()] = true;
-        }
-
-        // sudeste
-        p.setValues(position.getRow() + 1, position.getColumn() + 1);
-        if(getBoard().positionExists(p) && canMove(p)){
-            mat[p.getRow()][p.getColumn()] = true;
-        }
+    public int possibleMoves(int[] moves, int offset) {
+        int count = jump(moves, offset, AttackTables.KING_ATTACKS);
 
         // Roque
-        if(getMoveCount() == 0 && !chessMatch.getCheck()){ //rei não pode ter movido e não estar em xeque
-            // Roque do lado do rei (Roque pequeno)
-            Position posT1 = new Position(position.getRow(), position.getColumn() + 3);
-            if (testRookCastling(posT1)){
-                Position p1 = new Position(position.getRow(), position.getColumn() + 1);
-                Position p2 = new Position(position.getRow(), position.getColumn() + 2);
-                if (getBoard().piece(p1) == null && getBoard().piece(p2) == null){
-                    mat[position.getRow()][position.getColumn() + 2] = true;
+        int source = square();
+        int row = source >> 3;
+        int column = source & 7;
+        Color opponent = (getColor() == Color.BRANCO) ? Color.PRETO : Color.BRANCO;
+        if(getMoveCount() == 0 && !chessMatch.isSquareAttacked(source, opponent)){ //rei não pode ter movido e não estar em xeque
+            // Roque do lado do rei (Roque pequeno), o rei não pode passar por casa atacada
+            if (testRookCastling(row, column + 3)){
+                if (getBoard().piece(row, column + 1) == null && getBoard().piece(row, column + 2) == null && !chessMatch.isSquareAttacked(source + 1, opponent)){
+                    moves[count++] = Move.encode(source, square(row, column + 2));
                 }
             }
             // Roque do lado da rainha (Roque grande)
-            Position posT2 = new Position(position.getRow(), position.getColumn() - 4);
-            if (testRookCastling(posT2)){
-                Position p1 = new Position(position.getRow(), position.getColumn() - 1);
-                Position p2 = new Position(position.getRow(), position.getColumn() - 2);
-                Position p3 = new Position(position.getRow(), position.getColumn() - 3);
-                if (getBoard().piece(p1) == null && getBoard().piece(p2) == null &&  getBoard().piece(p3) == null){
-                    mat[position.getRow()][position.getColumn() - 2] = true;
+            if (testRookCastling(row, column - 4)){
+                if (getBoard().piece(row, column - 1) == null && getBoard().piece(row, column - 2) == null && getBoard().piece(row, column - 3) == null && !chessMatch.isSquareAttacked(source - 1, opponent)){
+                    moves[count++] = Move.encode(source, square(row, column - 2));
                 }
             }
         }
 
-        return mat;
+        return count - offset;
     }
 }
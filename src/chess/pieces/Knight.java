@@ -1,13 +1,14 @@
 package chess.pieces;
 
 import boardGame.Board;
-import boardGame.Position;
+import chess.AttackTables;
 import chess.ChessPiece;
 import chess.Color;
+import chess.PieceType;
 
 public class Knight extends ChessPiece {
     public Knight(Board board, Color color) {
-        super(board, color);
+        super(board, color, PieceType.KNIGHT);
     }
 
     @Override
@@ -15,58 +16,8 @@ public class Knight extends ChessPiece {
         return "N";
     }
 
-    private boolean canMove(Position position){
-        ChessPiece p = (ChessPiece)getBoard().piece(position);
-        return p == null || p.getColor() != getColor();
-    }
-
     @Override
-    public boolean[][] possibleMoves() {
-        boolean[][] mat = new boolean[getBoard().getRows()][getBoard().getColumns()];
-
-        Position p = new Position(0, 0);
-
-
-        p.setValues(position.getRow() - 1, position.getColumn() - 2);
-        if(getBoard().positionExists(p) && canMove(p)){
-            mat[p.getRow()][p.getColumn()] = true;
-        }
-
-        p.setValues(position.getRow() - 2, position.getColumn() - 1);
-        if(getBoard().positionExists(p) && canMove(p)){
-            mat[p.getRow()][p.getColumn()] = true;
-        }
-
-        p.setValues(position.getRow() - 2, position.getColumn() + 1);
-        if(getBoard().positionExists(p) && canMove(p)){
-            mat[p.getRow()][p.getColumn()] = true;
-        }
-
-        p.setValues(position.getRow() - 1, position.getColumn() + 2);
-        if(getBoard().positionExists(p) && canMove(p)){
-            mat[p.getRow()][p.getColumn()] = true;
-        }
-
-        p.setValues(position.getRow() + 1, position.getColumn() + 2);
-        if(getBoard().positionExists(p) && canMove(p)){
-            mat[p.getRow()][p.getColumn()] = true;
-        }
-
-        p.setValues(position.getRow() + 2, position.getColumn() + 1);
-        if(getBoard().positionExists(p) && canMove(p)){
-            mat[p.getRow()][p.getColumn()] = true;
-        }
-
-        p.setValues(position.getRow() + 2, position.getColumn() - 1);
-        if(getBoard().positionExists(p) && canMove(p)){
-            mat[p.getRow()][p.getColumn()] = true;
-        }
-
-        p.setValues(position.getRow() + 1, position.getColumn() - 2);
-        if(getBoard().positionExists(p) && canMove(p)){
-            mat[p.getRow()][p.getColumn()] = true;
-        }
-
-        return mat;
+    public int possibleMoves(int[] moves, int offset) {
+        return jump(moves, offset, AttackTables.KNIGHT_ATTACKS) - offset;
     }
 }
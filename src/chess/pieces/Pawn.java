@@ -1,90 +1,55 @@
 package chess.pieces;
 
 import boardGame.Board;
-import boardGame.Position;
+import boardGame.Move;
 import chess.ChessMatch;
 import chess.ChessPiece;
 import chess.Color;
+import chess.PieceType;
 
 public class Pawn extends ChessPiece {
 
     private ChessMatch chessMatch;
     public Pawn(Board board, Color color, ChessMatch chessMatch) {
-        super(board, color);
+        super(board, color, PieceType.PAWN);
         this.chessMatch = chessMatch;
     }
 
     @Override
-    public boolean[][] possibleMoves() {
-        boolean[][] mat = new boolean[getBoard().getRows()][getBoard().getColumns()];
-
-        Position p = new Position(0,0);
-
-        if (getColor() == Color.BRANCO){
-            p .setValues(position.getRow() - 1, position.getColumn());
-            if (getBoard().positionExists(p) && !getBoard().thereIsAPiece(p)){ //se a posição acima dele existir e estiver vazia ele pode mover
-                mat[p.getRow()][p.getColumn()] = true;
-            }
-            p .setValues(position.getRow() - 2, position.getColumn());
-            Position p2 = new Position(position.getRow() - 1, position.getColumn());
-            if (getBoard().positionExists(p) && !getBoard().thereIsAPiece(p) && getBoard().positionExists(p2) && !getBoard().thereIsAPiece(p2) && getMoveCount() == 0) {
-                mat[p.getRow()][p.getColumn()] = true;
-            }
-            p .setValues(position.getRow() - 1, position.getColumn() - 1);
-            if (getBoard().positionExists(p) && isThereOpponentPiece(p)){
-                mat[p.getRow()][p.getColumn()] = true;
-            }
-            p .setValues(position.getRow() - 1, position.getColumn() + 1);
-            if (getBoard().positionExists(p) && isThereOpponentPiece(p)){
-                mat[p.getRow()][p.getColumn()] = true;
-            }
-
-            // En Passant branco
-            if(position.getRow() == 3){
-                Position left = new Position(position.getRow(), position.getColumn() - 1);
-                if (getBoard().positionExists(left) && isThereOpponentPiece(left) && getBoard().piece(left) == chessMatch.getEnPassantVulnerable()){
-                    mat[left.getRow() - 1][left.getColumn()] = true;
-                }
-                Position right = new Position(position.getRow(), position.getColumn() + 1);
-                if (getBoard().positionExists(right) && isThereOpponentPiece(right) && getBoard().piece(right) == chessMatch.getEnPassantVulnerable()){
-                    mat[right.getRow() - 1][right.getColumn()] = true;
-                }
+    public int possibleMoves(int[] moves, int offset) {
+        int count = offset;
+        int source = square();
+        int row = source >> 3;
+        int column = source & 7;
+        int direction = (getColor() == Color.BRANCO) ? -1 : 1; //o peão branco sobe no tabuleiro e o preto desce
+
+        if (getBoard().positionExists(row + direction, column) && getBoard().piece(row + direction, column) == null){ //se a posição a frente existir e estiver vazia ele pode mover
+            moves[count++] = Move.encode(source, square(row + direction, column));
+            if (getMoveCount() == 0 && getBoard().positionExists(row + 2 * direction, column) && getBoard().piece(row + 2 * direction, column) == null) {
+                moves[count++] = Move.encode(source, square(row + 2 * direction, column));
             }
         }
-        else { //se o peão não for branco ele é preto
-            p .setValues(position.getRow() + 1, position.getColumn());
-            if (getBoard().positionExists(p) && !getBoard().thereIsAPiece(p)){
-                mat[p.getRow()][p.getColumn()] = true;
-            }
-            p .setValues(position.getRow() + 2, position.getColumn());
-            Position p2 = new Position(position.getRow() + 1, position.getColumn());
-            if (getBoard().positionExists(p) && !getBoard().thereIsAPiece(p) && getBoard().positionExists(p2) && !getBoard().thereIsAPiece(p2) && getMoveCount() == 0) {
-                mat[p.getRow()][p.getColumn()] = true;
-            }
-            p .setValues(position.getRow() + 1, position.getColumn() - 1);
-            if (getBoard().positionExists(p) && isThereOpponentPiece(p)){
-                mat[p.getRow()][p.getColumn()] = true;
-            }
-            p .setValues(position.getRow() + 1, position.getColumn() + 1);
-            if (getBoard().positionExists(p) && isThereOpponentPiece(p)){
-                mat[p.getRow()][p.getColumn()] = true;
-            }
+        if (getBoard().positionExists(row + direction, column - 1) && isThereOpponentPiece(row + direction, column - 1)){
+            moves[count++] = Move.encode(source, square(row + direction, column - 1));
+        }
+        if (getBoard().positionExists(row + direction, column + 1) && isThereOpponentPiece(row + direction, column + 1)){
+            moves[count++] = Move.encode(source, square(row + direction, column + 1));
+        }
 
-            // En Passant preto
-            if(position.getRow() == 4){
-                Position left = new Position(position.getRow(), position.getColumn() - 1);
-                if (getBoard().positionExists(left) && isThereOpponentPiece(left) && getBoard().piece(left) == chessMatch.getEnPassantVulnerable()){
-                    mat[left.getRow() + 1][left.getColumn()] = true;
-                }
-                Position right = new Position(position.getRow(), position.getColumn() + 1);
-                if (getBoard().positionExists(right) && isThereOpponentPiece(right) && getBoard().piece(right) == chessMatch.getEnPassantVulnerable()){
-                    mat[right.getRow() + 1][right.getColumn()] = true;
-                }
+        // En Passant
+        if ((getColor() == Color.BRANCO && row == 3) || (getColor() == Color.PRETO && row == 4)){
+            ChessPiece vulnerable = chessMatch.getEnPassantVulnerable();
+            if (getBoard().positionExists(row, column - 1) && isThereOpponentPiece(row, column - 1) && getBoard().piece(row, column - 1) == vulnerable){
+                moves[count++] = Move.encode(source, square(row + direction, column - 1));
+            }
+            if (getBoard().positionExists(row, column + 1) && isThereOpponentPiece(row, column + 1) && getBoard().piece(row, column + 1) == vulnerable){
+                moves[count++] = Move.encode(source, square(row + direction, column + 1));
             }
         }
 
-        return mat;
+        return count - offset;
     }
+
     @Override
     public String toString() {
         return "P";